@@ -0,0 +1,52 @@
+import java.util.function.*;
+
+/**
+ * Bedingungen über IntExpr für `SimpleIntStream.filter(IntCond)`, etwa `x().and(1).eq(0)` statt `x -> (x & 1) == 0`.
+ * Wie IntExpr ein untersuchbarer Baum aus Records, der sich vektorisiert auswerten lässt (siehe IntVectorKernels).
+ */
+public sealed interface IntCond extends IntPredicate {
+    /** Lesbare Form der Bedingung, z.B. für explain() */
+    String describe();
+
+    default IntCond and(IntCond other) { return new And(this, other); }
+    default IntCond or(IntCond other)  { return new Or(this, other); }
+    @Override default IntCond negate() { return new Not(this); }
+
+    enum Comparison {
+        LT("<"), LE("<="), GT(">"), GE(">="), EQ("=="), NE("!=");
+
+        final String symbol;
+        Comparison(String symbol) { this.symbol = symbol; }
+
+        boolean test(int a, int b) {
+            return switch (this) {
+                case LT -> a < b;
+                case LE -> a <= b;
+                case GT -> a > b;
+                case GE -> a >= b;
+                case EQ -> a == b;
+                case NE -> a != b;
+            };
+        }
+    }
+
+    record Compare(Comparison op, IntExpr left, IntExpr right) implements IntCond {
+        @Override public boolean test(int x) { return op.test(left.applyAsInt(x), right.applyAsInt(x)); }
+        @Override public String describe() { return left.describe() + " " + op.symbol + " " + right.describe(); }
+    }
+
+    record Not(IntCond operand) implements IntCond {
+        @Override public boolean test(int x) { return !operand.test(x); }
+        @Override public String describe() { return "!(" + operand.describe() + ")"; }
+    }
+
+    record And(IntCond left, IntCond right) implements IntCond {
+        @Override public boolean test(int x) { return left.test(x) && right.test(x); }
+        @Override public String describe() { return "(" + left.describe() + " && " + right.describe() + ")"; }
+    }
+
+    record Or(IntCond left, IntCond right) implements IntCond {
+        @Override public boolean test(int x) { return left.test(x) || right.test(x); }
+        @Override public String describe() { return "(" + left.describe() + " || " + right.describe() + ")"; }
+    }
+}
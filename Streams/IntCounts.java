@@ -0,0 +1,145 @@
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Häufigkeiten von ints ohne Boxing, Ergebnis von `SimpleIntStream.countByValue()` und `groupingBy(...)`;
+ * auch `distinct()` merkt sich hierin die schon gesehenen Werte.
+ *
+ * Eine Hashtabelle mit offener Adressierung: Schlüssel und Anzahlen liegen in zwei int-Arrays, eine
+ * Kollision wird durch lineares Sondieren im nächsten freien Platz aufgelöst. Ein Eintrag kostet so
+ * 8 Byte pro Platz statt rund 50 Byte für zwei Integer-Objekte samt HashMap-Knoten. Die Tabelle ist
+ * höchstens zu 2/3 gefüllt und wird dann auf die doppelte Größe umgeschichtet -- zwei neue Arrays,
+ * keine Allokation pro Eintrag. Freie Plätze erkennt man an der Anzahl 0, der Schlüssel ist dort beliebig.
+ */
+public final class IntCounts {
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30; // größte Zweierpotenz, die als Arraylänge passt
+
+    private int[] keys, counts;
+    private int mask;     // Kapazität - 1, die Kapazität ist eine Zweierpotenz
+    private int size = 0; // Anzahl verschiedener Schlüssel
+    private int resizeAt;
+
+    public IntCounts() { this(MIN_CAPACITY); }
+
+    /** Tabelle, die expectedKeys Schlüssel ohne Umschichten aufnimmt */
+    public IntCounts(int expectedKeys) {
+        long wanted = Math.max(1, expectedKeys + (long) expectedKeys / 2);
+        if (wanted >= MAX_CAPACITY) throw new IllegalArgumentException("Zu viele erwartete Schlüssel: " + expectedKeys);
+        allocate(Math.max(MIN_CAPACITY, Integer.highestOneBit((int) wanted) << 1));
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        counts = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = capacity / 3 * 2;
+    }
+
+    /** Verteilt auch fortlaufende Schlüssel (IDs) gleichmäßig, Finalizer von MurmurHash3 */
+    private static int hash(int key) {
+        key ^= key >>> 16;
+        key *= 0x85EBCA6B;
+        key ^= key >>> 13;
+        key *= 0xC2B2AE35;
+        return key ^ (key >>> 16);
+    }
+
+    /** Platz von key oder der freie Platz, an dem key stehen müsste */
+    private int slot(int key) {
+        int i = hash(key) & mask;
+        while (counts[i] != 0 && keys[i] != key) i = (i + 1) & mask;
+        return i;
+    }
+
+    /** Zählt key einmal; true, wenn key neu ist */
+    public boolean add(int key) { return add(key, 1); }
+
+    /**
+     * Zählt key count-mal (count > 0); true, wenn key neu ist. Eine Anzahl über Integer.MAX_VALUE wirft
+     * ArithmeticException -- still übergelaufen würde sie 0 und der Platz damit als frei gelten.
+     */
+    public boolean add(int key, int count) {
+        int i = slot(key);
+        if (counts[i] != 0) {
+            counts[i] = Math.addExact(counts[i], count);
+            return false;
+        }
+        keys[i] = key;
+        counts[i] = count;
+        if (++size > resizeAt) resize();
+        return true;
+    }
+
+    private void resize() {
+        int[] oldKeys = keys, oldCounts = counts;
+        if (oldKeys.length == MAX_CAPACITY) throw new IllegalStateException("Zu viele verschiedene Schlüssel: " + size);
+        allocate(2 * oldKeys.length);
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldCounts[j] == 0) continue;
+            int i = slot(oldKeys[j]);
+            keys[i] = oldKeys[j];
+            counts[i] = oldCounts[j];
+        }
+    }
+
+    /** Nimmt alle Anzahlen aus other hinzu */
+    public IntCounts addAll(IntCounts other) {
+        for (int j = 0; j < other.keys.length; j++) if (other.counts[j] != 0) add(other.keys[j], other.counts[j]);
+        return this;
+    }
+
+    /** Anzahl für key, 0 wenn key nie gezählt wurde */
+    public int get(int key) { return counts[slot(key)]; }
+
+    public boolean contains(int key) { return get(key) != 0; }
+
+    /** Anzahl verschiedener Schlüssel */
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    /** Verarbeitet jeden Schlüssel mit seiner Anzahl, in der Reihenfolge der Tabelle */
+    public void forEach(IntBinaryConsumer action) {
+        for (int j = 0; j < keys.length; j++) if (counts[j] != 0) action.accept(keys[j], counts[j]);
+    }
+
+    @FunctionalInterface
+    public interface IntBinaryConsumer { void accept(int key, int count); }
+
+    /** Die Schlüssel in der Reihenfolge der Tabelle */
+    public int[] keys() {
+        int[] result = new int[size];
+        int k = 0;
+        for (int j = 0; j < keys.length; j++) if (counts[j] != 0) result[k++] = keys[j];
+        return result;
+    }
+
+    /** Als Map; erst hier wird geboxt */
+    public Map<Integer, Integer> toMap() {
+        Map<Integer, Integer> result = new HashMap<>(size * 2);
+        forEach(result::put);
+        return result;
+    }
+
+    @Override public boolean equals(Object o) {
+        if (!(o instanceof IntCounts other) || other.size != size) return false;
+        for (int j = 0; j < keys.length; j++) if (counts[j] != 0 && other.get(keys[j]) != counts[j]) return false;
+        return true;
+    }
+
+    @Override public int hashCode() {
+        int h = 0;
+        for (int j = 0; j < keys.length; j++) if (counts[j] != 0) h += keys[j] ^ counts[j];
+        return h;
+    }
+
+    /** Die Einträge nach Schlüssel sortiert, z.B. {1=2, 5=1} */
+    @Override public String toString() {
+        int[] sorted = keys();
+        Arrays.sort(sorted);
+        StringJoiner joiner = new StringJoiner(", ", "{", "}");
+        for (int key : sorted) joiner.add(key + "=" + get(key));
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,101 @@
+import java.util.function.*;
+
+/**
+ * Kleine Ausdruckssprache für int-Abbildungen, etwa `x().times(3).plus(1)` statt `x -> x * 3 + 1`.
+ *
+ * Ein Lambda ist für die Pipeline undurchsichtig, ein IntExpr dagegen ein Baum aus Records, den die Pipeline
+ * untersuchen kann: `SimpleIntStream.map(IntExpr)` und `filter(IntCond)` werten solche Bäume über Array- und
+ * Range-Quellen mit der Vector API aus (siehe IntVectorKernels), mehrere ints pro Befehl. Wo das nicht geht,
+ * ist ein IntExpr einfach ein IntUnaryOperator.
+ *
+ * IntExpr hat neben applyAsInt die abstrakte Methode describe() und ist daher kein funktionales Interface:
+ * `map(x -> x * 2)` wählt weiterhin eindeutig `map(IntUnaryOperator)`.
+ */
+public sealed interface IntExpr extends IntUnaryOperator {
+    /** Lesbare Form des Ausdrucks, z.B. für explain() */
+    String describe();
+
+    /** Das Element selbst */
+    static IntExpr x() { return Var.X; }
+
+    static IntExpr constant(int value) { return new Const(value); }
+
+    default IntExpr plus(IntExpr other)  { return new Binary(BinaryOp.ADD, this, other); }
+    default IntExpr plus(int value)      { return plus(constant(value)); }
+    default IntExpr minus(IntExpr other) { return new Binary(BinaryOp.SUB, this, other); }
+    default IntExpr minus(int value)     { return minus(constant(value)); }
+    default IntExpr times(IntExpr other) { return new Binary(BinaryOp.MUL, this, other); }
+    default IntExpr times(int value)     { return times(constant(value)); }
+    /** Bitweises Und */
+    default IntExpr and(int mask)        { return new Binary(BinaryOp.AND, this, constant(mask)); }
+    /** Bitweises Oder */
+    default IntExpr or(int mask)         { return new Binary(BinaryOp.OR, this, constant(mask)); }
+    /** Bitweises exklusives Oder */
+    default IntExpr xor(int mask)        { return new Binary(BinaryOp.XOR, this, constant(mask)); }
+    default IntExpr shiftLeft(int n)     { return new Binary(BinaryOp.SHL, this, constant(n)); }
+    default IntExpr shiftRight(int n)    { return new Binary(BinaryOp.SHR, this, constant(n)); }
+    default IntExpr shiftRightUnsigned(int n) { return new Binary(BinaryOp.USHR, this, constant(n)); }
+    default IntExpr min(IntExpr other)   { return new Binary(BinaryOp.MIN, this, other); }
+    default IntExpr min(int value)       { return min(constant(value)); }
+    default IntExpr max(IntExpr other)   { return new Binary(BinaryOp.MAX, this, other); }
+    default IntExpr max(int value)       { return max(constant(value)); }
+    default IntExpr negate()             { return new Unary(UnaryOp.NEG, this); }
+    default IntExpr abs()                { return new Unary(UnaryOp.ABS, this); }
+
+    default IntCond lt(IntExpr other) { return new IntCond.Compare(IntCond.Comparison.LT, this, other); }
+    default IntCond lt(int value)     { return lt(constant(value)); }
+    default IntCond le(IntExpr other) { return new IntCond.Compare(IntCond.Comparison.LE, this, other); }
+    default IntCond le(int value)     { return le(constant(value)); }
+    default IntCond gt(IntExpr other) { return new IntCond.Compare(IntCond.Comparison.GT, this, other); }
+    default IntCond gt(int value)     { return gt(constant(value)); }
+    default IntCond ge(IntExpr other) { return new IntCond.Compare(IntCond.Comparison.GE, this, other); }
+    default IntCond ge(int value)     { return ge(constant(value)); }
+    default IntCond eq(IntExpr other) { return new IntCond.Compare(IntCond.Comparison.EQ, this, other); }
+    default IntCond eq(int value)     { return eq(constant(value)); }
+    default IntCond ne(IntExpr other) { return new IntCond.Compare(IntCond.Comparison.NE, this, other); }
+    default IntCond ne(int value)     { return ne(constant(value)); }
+
+    enum BinaryOp {
+        ADD("+", (a, b) -> a + b), SUB("-", (a, b) -> a - b), MUL("*", (a, b) -> a * b),
+        AND("&", (a, b) -> a & b), OR("|", (a, b) -> a | b), XOR("^", (a, b) -> a ^ b),
+        SHL("<<", (a, b) -> a << b), SHR(">>", (a, b) -> a >> b), USHR(">>>", (a, b) -> a >>> b),
+        MIN("min", Math::min), MAX("max", Math::max);
+
+        final String symbol;
+        final IntBinaryOperator scalar;
+        BinaryOp(String symbol, IntBinaryOperator scalar) { this.symbol = symbol; this.scalar = scalar; }
+    }
+
+    enum UnaryOp {
+        NEG("-", a -> -a), ABS("abs", Math::abs);
+
+        final String symbol;
+        final IntUnaryOperator scalar;
+        UnaryOp(String symbol, IntUnaryOperator scalar) { this.symbol = symbol; this.scalar = scalar; }
+    }
+
+    enum Var implements IntExpr {
+        X;
+        @Override public int applyAsInt(int x) { return x; }
+        @Override public String describe() { return "x"; }
+    }
+
+    record Const(int value) implements IntExpr {
+        @Override public int applyAsInt(int x) { return value; }
+        @Override public String describe() { return Integer.toString(value); }
+    }
+
+    record Unary(UnaryOp op, IntExpr operand) implements IntExpr {
+        @Override public int applyAsInt(int x) { return op.scalar.applyAsInt(operand.applyAsInt(x)); }
+        @Override public String describe() { return op.symbol + "(" + operand.describe() + ")"; }
+    }
+
+    record Binary(BinaryOp op, IntExpr left, IntExpr right) implements IntExpr {
+        @Override public int applyAsInt(int x) { return op.scalar.applyAsInt(left.applyAsInt(x), right.applyAsInt(x)); }
+        @Override public String describe() {
+            return op == BinaryOp.MIN || op == BinaryOp.MAX
+                ? op.symbol + "(" + left.describe() + ", " + right.describe() + ")"
+                : "(" + left.describe() + " " + op.symbol + " " + right.describe() + ")";
+        }
+    }
+}
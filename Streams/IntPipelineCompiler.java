@@ -0,0 +1,189 @@
+import java.lang.classfile.*;
+import java.lang.constant.*;
+import java.lang.invoke.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+import static java.lang.constant.ConstantDescs.*;
+
+/**
+ * Übersetzt eine Pipeline aus map, filter, skip und limit über eine Array- oder Range-Quelle in eine einzige
+ * Schleife (siehe `SimpleIntStream.compile()`).
+ *
+ * Ohne compile() reicht jede Stage die Elemente über einen eigenen Sink weiter. Diese Aufrufstellen teilen sich
+ * alle Pipelines; sieht der JIT-Compiler dort viele verschiedene Lambdas, inlint er sie nicht mehr (megamorph).
+ * Hier erzeugt die ClassFile API für jede Form einer Pipeline eine Klasse, in deren Schleife die Stages direkt
+ * hintereinander stehen: aufeinanderfolgende maps werden zu `v = f2.applyAsInt(f1.applyAsInt(v))`, aufeinander-
+ * folgende filter zu `if (!p1.test(v) || !p2.test(v)) continue`. Jede dieser Aufrufstellen sieht nur eine
+ * Lambda-Klasse, der JIT-Compiler kann die Lambdas also einsetzen und erhält eine Schleife wie von Hand
+ * geschrieben. skip und limit hinter einem filter werden zu Zählern in der Schleife.
+ *
+ * Die Form einer Pipeline besteht aus der Art der Quelle und je Stage deren Art und der Klasse der Funktion --
+ * nicht der Funktion selbst: Dasselbe Lambda mit anderen eingefangenen Werten hat dieselbe Klasse. Jede Form
+ * wird nur einmal als Hidden Class definiert (Lookup.defineHiddenClass), ihr Konstruktor bleibt im Cache.
+ *
+ * Der Cache hängt per ClassValue an der Klasse der ersten Funktion einer Form. Ein statischer Cache hielte die
+ * Lambda-Klassen und ihre Class Loader ebenso wie die Hidden Classes für immer fest; so lebt ein Eintrag nur so
+ * lange wie diese Klasse. Die Klassen der übrigen Stages hält er bis dahin mit fest.
+ */
+final class IntPipelineCompiler {
+    /** Die erzeugte Schleife: schiebt values[from, to) bzw. bei Range-Quellen die ints [from, to) durch die Stages in sink */
+    interface Loop {
+        void run(int[] values, int from, int to, SimpleIntStream.IntSink sink, boolean shortCircuit);
+    }
+
+    /** Konstruktoren je Form, an der Klasse der ersten Funktion; Formen nur aus skip und limit an dieser Klasse */
+    private static final ClassValue<Map<List<Object>, MethodHandle>> CONSTRUCTORS = new ClassValue<>() {
+        @Override protected Map<List<Object>, MethodHandle> computeValue(Class<?> type) { return new ConcurrentHashMap<>(); }
+    };
+
+    private static final ClassDesc CD_LOOP = desc(Loop.class), CD_SINK = desc(SimpleIntStream.IntSink.class);
+    private static final ClassDesc CD_MAPPER = desc(IntUnaryOperator.class), CD_PREDICATE = desc(IntPredicate.class);
+    private static final MethodTypeDesc MTD_INIT = MethodTypeDesc.of(CD_void, CD_Object.arrayType(), CD_long.arrayType());
+    private static final MethodTypeDesc MTD_RUN = MethodTypeDesc.of(CD_void, CD_int.arrayType(), CD_int, CD_int, CD_SINK, CD_boolean);
+
+    // Lokale Variablen von run: this und die Parameter, dann Index und Element, ab COUNTERS ein long je skip/limit
+    private static final int VALUES = 1, FROM = 2, TO = 3, SINK = 4, SHORT_CIRCUIT = 5, INDEX = 6, ELEMENT = 7, COUNTERS = 8;
+
+    private IntPipelineCompiler() {}
+
+    private static ClassDesc desc(Class<?> type) { return type.describeConstable().orElseThrow(); }
+
+    /** Schleife über eine Array-Quelle (array) bzw. Range-Quelle durch die Stages steps */
+    static Loop compile(boolean array, List<SimpleIntStream.FusedStep> steps) {
+        List<Object> shape = new ArrayList<>();
+        shape.add(array);
+        Class<?> first = null;
+        Object[] functions = new Object[steps.size()];
+        long[] counts = new long[steps.size()];
+        for (int k = 0; k < steps.size(); k++) {
+            switch (steps.get(k)) {
+                case SimpleIntStream.FusedStep.Map(IntUnaryOperator mapper) -> { functions[k] = mapper; shape.add(mapper.getClass()); }
+                case SimpleIntStream.FusedStep.Filter(IntPredicate predicate) -> { functions[k] = predicate; shape.add(predicate.getClass()); }
+                case SimpleIntStream.FusedStep.Skip(long n) -> { counts[k] = n; shape.add("skip"); }
+                case SimpleIntStream.FusedStep.Limit(long maxSize) -> { counts[k] = maxSize; shape.add("limit"); }
+            }
+        }
+        for (Object function : functions) if (first == null && function != null) first = function.getClass();
+        MethodHandle constructor = CONSTRUCTORS.get(first == null ? IntPipelineCompiler.class : first)
+                                               .computeIfAbsent(List.copyOf(shape), key -> define(array, steps));
+        try {
+            return (Loop) constructor.invoke(functions, counts);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Erzeugte Schleife lässt sich nicht anlegen", e);
+        }
+    }
+
+    /** Definiert die Klasse für eine Form und liefert ihren Konstruktor (Object[] functions, long[] counts) */
+    private static MethodHandle define(boolean array, List<SimpleIntStream.FusedStep> steps) {
+        String packageName = IntPipelineCompiler.class.getPackageName();
+        ClassDesc self = ClassDesc.of(packageName.isEmpty() ? "CompiledIntPipeline" : packageName + ".CompiledIntPipeline");
+        byte[] bytes = ClassFile.of().build(self, clazz -> {
+            clazz.withFlags(ClassFile.ACC_FINAL | ClassFile.ACC_SYNTHETIC)
+                 .withSuperclass(CD_Object)
+                 .withInterfaceSymbols(CD_LOOP);
+            for (int k = 0; k < steps.size(); k++) clazz.withField(field(k), fieldType(steps.get(k)), ClassFile.ACC_PRIVATE | ClassFile.ACC_FINAL);
+            clazz.withMethodBody(INIT_NAME, MTD_INIT, ClassFile.ACC_PUBLIC, code -> constructor(code, self, steps));
+            clazz.withMethodBody("run", MTD_RUN, ClassFile.ACC_PUBLIC, code -> loop(code, self, array, steps));
+        });
+        try {
+            MethodHandles.Lookup hidden = MethodHandles.lookup().defineHiddenClass(bytes, true);
+            return hidden.findConstructor(hidden.lookupClass(), MethodType.methodType(void.class, Object[].class, long[].class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Erzeugte Schleife lässt sich nicht definieren", e);
+        }
+    }
+
+    private static String field(int k) { return "stage" + k; }
+
+    /** map und filter halten ihre Funktion, skip und limit ihre Anzahl */
+    private static ClassDesc fieldType(SimpleIntStream.FusedStep step) {
+        return switch (step) {
+            case SimpleIntStream.FusedStep.Map map -> CD_MAPPER;
+            case SimpleIntStream.FusedStep.Filter filter -> CD_PREDICATE;
+            case SimpleIntStream.FusedStep.Skip skip -> CD_long;
+            case SimpleIntStream.FusedStep.Limit limit -> CD_long;
+        };
+    }
+
+    /** stage<k> = (Typ) functions[k] bzw. counts[k] */
+    private static void constructor(CodeBuilder code, ClassDesc self, List<SimpleIntStream.FusedStep> steps) {
+        code.aload(0).invokespecial(CD_Object, INIT_NAME, MTD_void);
+        for (int k = 0; k < steps.size(); k++) {
+            ClassDesc type = fieldType(steps.get(k));
+            code.aload(0);
+            if (type == CD_long) code.aload(2).loadConstant(k).laload();
+            else code.aload(1).loadConstant(k).aaload().checkcast(type);
+            code.putfield(self, field(k), type);
+        }
+        code.return_();
+    }
+
+    /**
+     * Die Schleife, als Java geschrieben (hier mit einem filter, einem map und einem limit):
+     * <pre>
+     * long counter2 = 0;
+     * for (int i = from; i < to; i++) {
+     *     if (counter2 >= stage2) return;                                 // limit erreicht
+     *     if (shortCircuit && sink.cancellationRequested()) return;
+     *     int v = values[i];                                              // Range-Quelle: int v = i;
+     *     if (!stage0.test(v)) continue;
+     *     v = stage1.applyAsInt(v);
+     *     counter2++;
+     *     sink.accept(v);
+     * }
+     * </pre>
+     * Ein skip wird zu `if (counter < stage) { counter++; continue; }`.
+     */
+    private static void loop(CodeBuilder code, ClassDesc self, boolean array, List<SimpleIntStream.FusedStep> steps) {
+        Label head = code.newLabel(), next = code.newLabel(), end = code.newLabel();
+        for (int k = 0; k < steps.size(); k++) {
+            if (fieldType(steps.get(k)) == CD_long) code.lconst_0().lstore(counter(k));
+        }
+        code.iload(FROM).istore(INDEX);
+
+        code.labelBinding(head);
+        code.iload(INDEX).iload(TO).if_icmpge(end);
+        for (int k = 0; k < steps.size(); k++) {
+            if (!(steps.get(k) instanceof SimpleIntStream.FusedStep.Limit)) continue;
+            code.lload(counter(k)).aload(0).getfield(self, field(k), CD_long).lcmp().ifge(end);
+        }
+        Label body = code.newLabel();
+        code.iload(SHORT_CIRCUIT).ifeq(body)
+            .aload(SINK).invokeinterface(CD_SINK, "cancellationRequested", MethodTypeDesc.of(CD_boolean)).ifne(end);
+        code.labelBinding(body);
+        if (array) code.aload(VALUES).iload(INDEX).iaload();
+        else code.iload(INDEX);
+        code.istore(ELEMENT);
+
+        for (int k = 0; k < steps.size(); k++) {
+            switch (steps.get(k)) {
+                case SimpleIntStream.FusedStep.Map map ->
+                    code.aload(0).getfield(self, field(k), CD_MAPPER).iload(ELEMENT)
+                        .invokeinterface(CD_MAPPER, "applyAsInt", MethodTypeDesc.of(CD_int, CD_int)).istore(ELEMENT);
+                case SimpleIntStream.FusedStep.Filter filter ->
+                    code.aload(0).getfield(self, field(k), CD_PREDICATE).iload(ELEMENT)
+                        .invokeinterface(CD_PREDICATE, "test", MethodTypeDesc.of(CD_boolean, CD_int)).ifeq(next);
+                case SimpleIntStream.FusedStep.Skip skip -> {
+                    Label skipped = code.newLabel();
+                    code.lload(counter(k)).aload(0).getfield(self, field(k), CD_long).lcmp().ifge(skipped)
+                        .lload(counter(k)).lconst_1().ladd().lstore(counter(k))
+                        .goto_(next);
+                    code.labelBinding(skipped);
+                }
+                case SimpleIntStream.FusedStep.Limit limit ->
+                    code.lload(counter(k)).lconst_1().ladd().lstore(counter(k));
+            }
+        }
+        code.aload(SINK).iload(ELEMENT).invokeinterface(CD_SINK, "accept", MethodTypeDesc.of(CD_void, CD_int));
+
+        code.labelBinding(next);
+        code.iinc(INDEX, 1).goto_(head);
+        code.labelBinding(end);
+        code.return_();
+    }
+
+    /** Slot des Zählers für skip/limit an Stelle k; ein long belegt zwei Slots */
+    private static int counter(int k) { return COUNTERS + 2 * k; }
+}
@@ -0,0 +1,275 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Sortierverfahren für int-Arrays, auf die `SimpleIntStream.sorted()` zurückgreift.
+ *
+ * - Kleine Bereiche sortiert `Arrays.sort` (Dual-Pivot-Quicksort).
+ * - Große Bereiche sortiert ein LSD-Radixsort: vier Durchläufe über je ein Byte, ganz ohne Vergleiche.
+ * - Im parallelen Modus zerlegt ein Fork/Join-Mergesort das Array, sortiert die Teile wie oben und
+ *   führt sie paarweise wieder zusammen.
+ * - Passt die Eingabe nicht in den Speicher, sortiert `ExternalSort` sie in Läufen auf der Platte.
+ */
+public final class IntSorting {
+    private IntSorting() {}
+
+    static final int RADIX_THRESHOLD = 1 << 12;  // ab hier lohnt sich Radixsort gegenüber Arrays.sort
+    static final int MIN_PARALLEL_PART = 1 << 13; // kleinere Teile werden nicht weiter zerlegt
+
+    /** Sortiert values aufsteigend, bei parallel im ForkJoinPool */
+    public static void sort(int[] values, boolean parallel) {
+        if (values.length < 2) return;
+        sort(values, values.length, new int[values.length], parallel);
+    }
+
+    /** Sortiert values[0, length), bei parallel im ForkJoinPool; buffer muss mindestens length lang sein */
+    static void sort(int[] values, int length, int[] buffer, boolean parallel) {
+        if (!parallel || length < 2 * MIN_PARALLEL_PART) { sort(values, 0, length, buffer); return; }
+        int part = Math.max(length / (ForkJoinPool.getCommonPoolParallelism() * 4), MIN_PARALLEL_PART);
+        new MergeSortTask(values, buffer, 0, length, part).invoke();
+    }
+
+    /** Sortiert values[from, to) sequentiell; buffer muss mindestens so lang wie values sein */
+    static void sort(int[] values, int from, int to, int[] buffer) {
+        if (to - from < RADIX_THRESHOLD) Arrays.sort(values, from, to);
+        else radixSort(values, from, to, buffer);
+    }
+
+    /**
+     * LSD-Radixsort über values[from, to): sortiert stabil nach Byte 0, dann 1, 2 und 3. Beim höchsten
+     * Byte wird das Vorzeichenbit umgedreht, damit negative Zahlen vor den positiven landen. Ein Durchlauf,
+     * in dem alle Werte dasselbe Byte haben, wird übersprungen.
+     */
+    static void radixSort(int[] values, int from, int to, int[] buffer) {
+        int[] src = values, dst = buffer;
+        int[] counts = new int[257];
+        for (int shift = 0; shift < 32; shift += 8) {
+            int flip = shift == 24 ? 0x80 : 0;
+            Arrays.fill(counts, 0);
+            for (int i = from; i < to; i++) counts[(((src[i] >>> shift) & 0xFF) ^ flip) + 1]++;
+            if (counts[(((src[from] >>> shift) & 0xFF) ^ flip) + 1] == to - from) continue;
+            counts[0] = from;
+            for (int d = 1; d < 257; d++) counts[d] += counts[d - 1];
+            for (int i = from; i < to; i++) dst[counts[((src[i] >>> shift) & 0xFF) ^ flip]++] = src[i];
+            int[] swap = src; src = dst; dst = swap;
+        }
+        if (src != values) System.arraycopy(src, from, values, from, to - from);
+    }
+
+    /** Behält von allen hinzugefügten Werten nur die k kleinsten, in einem Max-Heap: die Wurzel ist der größte davon */
+    static final class TopK {
+        private final int k;
+        private int[] heap;
+        private int count = 0;
+
+        TopK(int k) {
+            this.k = k;
+            heap = new int[Math.min(k, 16)];
+        }
+
+        void add(int v) {
+            if (count < k) { // Heap noch nicht voll: einfügen und nach oben sieben
+                if (count == heap.length) heap = Arrays.copyOf(heap, (int) Math.min(k, 2L * heap.length));
+                int i = count++;
+                for (int parent = (i - 1) >>> 1; i > 0 && heap[parent] < v; i = parent, parent = (i - 1) >>> 1)
+                    heap[i] = heap[parent];
+                heap[i] = v;
+            } else if (k > 0 && v < heap[0]) { // kleiner als der größte: Wurzel ersetzen und nach unten sieben
+                int i = 0;
+                for (int child = 1; child < count; i = child, child = 2 * i + 1) {
+                    if (child + 1 < count && heap[child + 1] > heap[child]) child++;
+                    if (heap[child] <= v) break;
+                    heap[i] = heap[child];
+                }
+                heap[i] = v;
+            }
+        }
+
+        /** Die k kleinsten Werte aufsteigend sortiert */
+        int[] sorted() {
+            int[] result = Arrays.copyOf(heap, count);
+            sort(result, false);
+            return result;
+        }
+    }
+
+    /**
+     * Externer Mergesort: Nimmt Werte entgegen, bis spillThreshold Werte im Speicher liegen, sortiert sie
+     * und schreibt sie als Lauf (binär, je 4 Byte) per FileChannel in eine temporäre Datei. iterator() mischt
+     * alle Läufe und den Rest im Speicher erst beim Abholen (k-Wege-Mischen über einen Min-Heap).
+     * Die Dateien werden gelöscht, sobald ihr Lauf ausgelesen ist oder close() aufgerufen wird. Wer vorher aufhört,
+     * muss close() aufrufen: deleteOnExit hielte je Datei einen Eintrag bis zum Ende der JVM fest.
+     * Im Speicher liegen höchstens 2 * spillThreshold ints: der Puffer und ein gleich großer Hilfspuffer für den
+     * Radix- bzw. Mergesort, der einmal angelegt und für alle Läufe wiederverwendet wird. Sortiert wird an Ort und Stelle.
+     */
+    static final class ExternalSort implements Closeable {
+        static final int RUN_BUFFER_BYTES = 1 << 15; // Puffer je Lauf beim Schreiben und Mischen
+
+        private final Path directory; // null: Standardverzeichnis für temporäre Dateien
+        private final boolean parallel;
+        private final int[] buffer;
+        private int[] scratch = null; // Hilfspuffer zum Sortieren, erst beim ersten Bedarf
+        private int count = 0;
+        private final List<FileRun> runs = new ArrayList<>();
+
+        ExternalSort(int spillThreshold, Path directory, boolean parallel) {
+            if (spillThreshold < 1) throw new IllegalArgumentException("Schwelle muss positiv sein: " + spillThreshold);
+            this.buffer = new int[spillThreshold];
+            this.directory = directory;
+            this.parallel = parallel;
+        }
+
+        void add(int v) {
+            buffer[count++] = v;
+            if (count == buffer.length) spill();
+        }
+
+        /** Anzahl der bislang auf die Platte geschriebenen Läufe */
+        int runCount() { return runs.size(); }
+
+        /** Sortiert den Speicherinhalt und schreibt ihn als Lauf in eine temporäre Datei */
+        private void spill() {
+            sortBuffer();
+            Path file = null;
+            try {
+                file = directory == null ? Files.createTempFile("simpleintstream-", ".run")
+                                         : Files.createTempFile(directory, "simpleintstream-", ".run");
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    ByteBuffer bytes = ByteBuffer.allocateDirect(RUN_BUFFER_BYTES).order(ByteOrder.nativeOrder());
+                    for (int i = 0; i < count; ) {
+                        IntBuffer ints = bytes.clear().asIntBuffer();
+                        int n = Math.min(ints.capacity(), count - i);
+                        ints.put(buffer, i, n);
+                        i += n;
+                        bytes.limit(n * Integer.BYTES);
+                        while (bytes.hasRemaining()) channel.write(bytes);
+                    }
+                }
+                runs.add(new FileRun(file));
+            } catch (IOException e) {
+                if (file != null) new FileRun(file).close(); // halb geschriebener Lauf
+                close();
+                throw new UncheckedIOException(e);
+            }
+            count = 0;
+        }
+
+        /** Sortiert buffer[0, count) an Ort und Stelle */
+        private void sortBuffer() {
+            if (count < 2) return;
+            if (scratch == null) scratch = new int[count]; // ein Lauf füllt den Puffer stets ganz, nur der Rest ist kürzer
+            sort(buffer, count, scratch, parallel);
+        }
+
+        /** Alle Werte aufsteigend; ohne ausgelagerte Läufe wird nur im Speicher sortiert. Danach kein add mehr */
+        PrimitiveIterator.OfInt iterator() {
+            sortBuffer();
+            scratch = null;
+            if (runs.isEmpty()) return Arrays.stream(buffer, 0, count).iterator();
+            List<Run> all = new ArrayList<>(runs);
+            all.add(new ArrayRun(buffer, count));
+            // Min-Heap über die Läufe, geordnet nach ihrem jeweils vordersten Wert
+            PriorityQueue<Run> heap = new PriorityQueue<>(all.size(), Comparator.comparingInt(Run::head));
+            for (Run run : all) if (run.advance()) heap.add(run);
+            return new PrimitiveIterator.OfInt() {
+                @Override public boolean hasNext() { return !heap.isEmpty(); }
+                @Override public int nextInt() {
+                    Run run = heap.poll();
+                    if (run == null) throw new NoSuchElementException();
+                    int v = run.head();
+                    if (run.advance()) heap.add(run);
+                    return v;
+                }
+            };
+        }
+
+        /** Schließt und löscht alle noch offenen Läufe */
+        @Override public void close() {
+            for (FileRun run : runs) run.close();
+        }
+
+        /** Sortierter Lauf: advance rückt zum nächsten Wert vor, head liefert ihn */
+        private interface Run {
+            boolean advance();
+            int head();
+        }
+
+        private static final class ArrayRun implements Run {
+            private final int[] values;
+            private final int length;
+            private int index = -1;
+            ArrayRun(int[] values, int length) { this.values = values; this.length = length; }
+            @Override public boolean advance() { return ++index < length; }
+            @Override public int head() { return values[index]; }
+        }
+
+        /** Lauf in einer Datei; sie wird erst beim ersten advance geöffnet und am Ende gelöscht */
+        private static final class FileRun implements Run {
+            private final Path file;
+            private FileChannel channel = null;
+            private ByteBuffer bytes = null;
+            private boolean closed = false;
+            private int head;
+
+            FileRun(Path file) { this.file = file; }
+
+            @Override public boolean advance() {
+                if (closed) return false;
+                try {
+                    if (channel == null) {
+                        channel = FileChannel.open(file, StandardOpenOption.READ);
+                        bytes = ByteBuffer.allocateDirect(RUN_BUFFER_BYTES).order(ByteOrder.nativeOrder()).limit(0);
+                    }
+                    if (!bytes.hasRemaining()) {
+                        bytes.clear();
+                        // Läufe bestehen aus ganzen ints und der Puffer wird ganz gefüllt: kein int wird zerteilt
+                        while (bytes.hasRemaining() && channel.read(bytes) >= 0) {}
+                        bytes.flip();
+                        if (!bytes.hasRemaining()) { close(); return false; }
+                    }
+                } catch (IOException e) {
+                    close();
+                    throw new UncheckedIOException(e);
+                }
+                head = bytes.getInt();
+                return true;
+            }
+
+            @Override public int head() { return head; }
+
+            void close() {
+                if (closed) return;
+                closed = true;
+                try {
+                    if (channel != null) channel.close();
+                    Files.deleteIfExists(file);
+                } catch (IOException ignored) {} // nicht löschbar: bleibt im Verzeichnis für temporäre Dateien liegen
+            }
+        }
+    }
+
+    /** Fork/Join-Mergesort: sortiert beide Hälften parallel und führt sie über buffer zusammen */
+    private static final class MergeSortTask extends RecursiveAction {
+        private final int[] values, buffer;
+        private final int from, to, part;
+
+        MergeSortTask(int[] values, int[] buffer, int from, int to, int part) {
+            this.values = values; this.buffer = buffer; this.from = from; this.to = to; this.part = part;
+        }
+
+        @Override protected void compute() {
+            if (to - from <= part) { sort(values, from, to, buffer); return; }
+            int mid = (from + to) >>> 1;
+            invokeAll(new MergeSortTask(values, buffer, from, mid, part), new MergeSortTask(values, buffer, mid, to, part));
+            if (values[mid - 1] <= values[mid]) return; // schon in Reihenfolge
+            System.arraycopy(values, from, buffer, from, mid - from);
+            int i = from, j = mid, k = from;
+            while (i < mid && j < to) values[k++] = buffer[i] <= values[j] ? buffer[i++] : values[j++];
+            while (i < mid) values[k++] = buffer[i++];
+        }
+    }
+}
@@ -0,0 +1,159 @@
+import java.util.*;
+import jdk.incubator.vector.*;
+
+/**
+ * Vektorisierte Auswertung (SIMD) von map(IntExpr)/filter(IntCond)-Pipelines über Array- und Range-Quellen.
+ *
+ * Die Ausdrucksbäume werden einmal in eine Folge von Instruktionen über "Registern" übersetzt, das sind
+ * int-Arrays für je einen Block von BLOCK Elementen. Die Quelle wird blockweise in das Register x geladen,
+ * dann läuft jede Instruktion in einer eigenen, engen Schleife mit IntVector (je nach Prozessor 4 bis 16
+ * ints pro Befehl) über den ganzen Block. Einen Vektor pro Knoten des Baums rekursiv durchzureichen wäre
+ * kürzer, aber der JIT-Compiler könnte die Vektoren dann nicht in Prozessorregistern halten.
+ *
+ * Ein filter rechnet nichts heraus, sondern löscht im Auswahlregister (-1: Element gilt, 0: verworfen) die
+ * Lanes, deren Bedingung nicht gilt; die Terminal-Operation verrechnet nur die ausgewählten Elemente.
+ *
+ * Benötigt das Modul jdk.incubator.vector (`--add-modules jdk.incubator.vector`). SimpleIntStream lädt diese
+ * Klasse nur per Reflection; fehlt das Modul, bleibt es bei der skalaren Auswertung.
+ */
+final class IntVectorKernels implements SimpleIntStream.VectorKernel {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final IntVector IOTA = IntVector.zero(SPECIES).addIndex(1); // 0, 1, 2, ...
+    private static final int LANES = SPECIES.length();
+    private static final int BLOCK = 512; // Vielfaches jeder Vektorlänge; ein Register belegt 2 KiB
+
+    /**
+     * Die Operationen als Schleifen über einen ganzen Block: dst = op(a, b). Jede Konstante hat ihre eigene
+     * Schleife mit festem Operator; eine gemeinsame Schleife mit dem Operator als Parameter kann der
+     * JIT-Compiler nicht in Vektorbefehle übersetzen. Vergleiche liefern -1, wo sie gelten, sonst 0.
+     * Die Namen entsprechen IntExpr.BinaryOp, IntExpr.UnaryOp und IntCond.Comparison.
+     */
+    private enum Lanewise {
+        NEG  { void run(int[] a, int[] b, int[] dst) { for (int i = 0; i < BLOCK; i += LANES) v(a, i).neg().intoArray(dst, i); } },
+        ABS  { void run(int[] a, int[] b, int[] dst) { for (int i = 0; i < BLOCK; i += LANES) v(a, i).abs().intoArray(dst, i); } },
+        ADD  { void run(int[] a, int[] b, int[] dst) { for (int i = 0; i < BLOCK; i += LANES) v(a, i).add(v(b, i)).intoArray(dst, i); } },
+        SUB  { void run(int[] a, int[] b, int[] dst) { for (int i = 0; i < BLOCK; i += LANES) v(a, i).sub(v(b, i)).intoArray(dst, i); } },
+        MUL  { void run(int[] a, int[] b, int[] dst) { for (int i = 0; i < BLOCK; i += LANES) v(a, i).mul(v(b, i)).intoArray(dst, i); } },
+        AND  { void run(int[] a, int[] b, int[] dst) { for (int i = 0; i < BLOCK; i += LANES) v(a, i).and(v(b, i)).intoArray(dst, i); } },
+        OR   { void run(int[] a, int[] b, int[] dst) { for (int i = 0; i < BLOCK; i += LANES) v(a, i).or(v(b, i)).intoArray(dst, i); } },
+        XOR  { void run(int[] a, int[] b, int[] dst) { for (int i = 0; i < BLOCK; i += LANES) v(a, i).lanewise(VectorOperators.XOR, v(b, i)).intoArray(dst, i); } },
+        // wie <<, >> und >>> nur die unteren 5 Bits der Schiebeweite
+        SHL  { void run(int[] a, int[] b, int[] dst) { for (int i = 0; i < BLOCK; i += LANES) v(a, i).lanewise(VectorOperators.LSHL, v(b, i)).intoArray(dst, i); } },
+        SHR  { void run(int[] a, int[] b, int[] dst) { for (int i = 0; i < BLOCK; i += LANES) v(a, i).lanewise(VectorOperators.ASHR, v(b, i)).intoArray(dst, i); } },
+        USHR { void run(int[] a, int[] b, int[] dst) { for (int i = 0; i < BLOCK; i += LANES) v(a, i).lanewise(VectorOperators.LSHR, v(b, i)).intoArray(dst, i); } },
+        MIN  { void run(int[] a, int[] b, int[] dst) { for (int i = 0; i < BLOCK; i += LANES) v(a, i).min(v(b, i)).intoArray(dst, i); } },
+        MAX  { void run(int[] a, int[] b, int[] dst) { for (int i = 0; i < BLOCK; i += LANES) v(a, i).max(v(b, i)).intoArray(dst, i); } },
+        LT   { void run(int[] a, int[] b, int[] dst) { for (int i = 0; i < BLOCK; i += LANES) mask(v(a, i).compare(VectorOperators.LT, v(b, i))).intoArray(dst, i); } },
+        LE   { void run(int[] a, int[] b, int[] dst) { for (int i = 0; i < BLOCK; i += LANES) mask(v(a, i).compare(VectorOperators.LE, v(b, i))).intoArray(dst, i); } },
+        GT   { void run(int[] a, int[] b, int[] dst) { for (int i = 0; i < BLOCK; i += LANES) mask(v(a, i).compare(VectorOperators.GT, v(b, i))).intoArray(dst, i); } },
+        GE   { void run(int[] a, int[] b, int[] dst) { for (int i = 0; i < BLOCK; i += LANES) mask(v(a, i).compare(VectorOperators.GE, v(b, i))).intoArray(dst, i); } },
+        EQ   { void run(int[] a, int[] b, int[] dst) { for (int i = 0; i < BLOCK; i += LANES) mask(v(a, i).compare(VectorOperators.EQ, v(b, i))).intoArray(dst, i); } },
+        NE   { void run(int[] a, int[] b, int[] dst) { for (int i = 0; i < BLOCK; i += LANES) mask(v(a, i).compare(VectorOperators.NE, v(b, i))).intoArray(dst, i); } };
+
+        abstract void run(int[] a, int[] b, int[] dst);
+    }
+
+    private static IntVector v(int[] register, int i) { return IntVector.fromArray(SPECIES, register, i); }
+
+    private static IntVector mask(VectorMask<Integer> mask) { return (IntVector) mask.toVector(); }
+
+    /** dst = op(a, b); a, b und dst sind Registernummern */
+    private record Instruction(Lanewise op, int dst, int a, int b) {}
+
+    /** Übersetzt die Stages; Register 0 enthält die Elemente der Quelle, Register 1 die Auswahl */
+    private static final class Program {
+        final Map<Integer, Integer> constants = new HashMap<>(); // Wert -> Register
+        final List<Instruction> body = new ArrayList<>();
+        int registers = 2;
+        int x = 0;
+
+        Program(List<SimpleIntStream.VectorStep> steps) {
+            for (SimpleIntStream.VectorStep step : steps) {
+                if (step.map() != null) x = compile(step.map());
+                else body.add(new Instruction(Lanewise.AND, 1, 1, compile(step.filter())));
+            }
+        }
+
+        private int compile(IntExpr expr) {
+            return switch (expr) {
+                case IntExpr.Var var -> x;
+                case IntExpr.Const c -> constants.computeIfAbsent(c.value(), value -> registers++);
+                case IntExpr.Unary u -> emit(u.op(), compile(u.operand()), 0);
+                case IntExpr.Binary b -> emit(b.op(), compile(b.left()), compile(b.right()));
+            };
+        }
+
+        private int compile(IntCond cond) {
+            return switch (cond) {
+                case IntCond.Compare c -> emit(c.op(), compile(c.left()), compile(c.right()));
+                case IntCond.Not not -> emit(IntExpr.BinaryOp.XOR, compile(not.operand()), compile(IntExpr.constant(-1)));
+                case IntCond.And and -> emit(IntExpr.BinaryOp.AND, compile(and.left()), compile(and.right()));
+                case IntCond.Or or -> emit(IntExpr.BinaryOp.OR, compile(or.left()), compile(or.right()));
+            };
+        }
+
+        private int emit(Enum<?> op, int a, int b) {
+            body.add(new Instruction(Lanewise.valueOf(op.name()), registers, a, b));
+            return registers++;
+        }
+    }
+
+    @Override public SimpleIntStream.VectorResult evaluate(int[] values, int from, int to,
+                                                           List<SimpleIntStream.VectorStep> steps, Terminal terminal) {
+        Program program = new Program(steps);
+        int[][] r = new int[program.registers][BLOCK];
+        program.constants.forEach((value, register) -> Arrays.fill(r[register], value));
+        int result = terminal == Terminal.MIN ? Integer.MAX_VALUE : terminal == Terminal.MAX ? Integer.MIN_VALUE : 0;
+        long count = 0;
+        for (long start = from; start < to; start += BLOCK) {
+            int length = (int) Math.min(BLOCK, to - start);
+            load(values, (int) start, length, r[0], r[1]);
+            for (Instruction instruction : program.body) instruction.op().run(r[instruction.a()], r[instruction.b()], r[instruction.dst()]);
+            int[] x = r[program.x], selected = r[1];
+            switch (terminal) {
+                case SUM -> result += sum(x, selected);
+                case MIN -> result = Math.min(result, min(x, selected));
+                case MAX -> result = Math.max(result, max(x, selected));
+                case COUNT -> {}
+            }
+            count += count(selected);
+        }
+        return new SimpleIntStream.VectorResult(result, count);
+    }
+
+    // Terminal-Operationen über einen Block; verrechnet werden nur die ausgewählten Elemente
+
+    private static int sum(int[] x, int[] selected) {
+        IntVector sum = IntVector.zero(SPECIES);
+        for (int i = 0; i < BLOCK; i += LANES) sum = sum.add(v(x, i).and(v(selected, i)));
+        return sum.reduceLanes(VectorOperators.ADD);
+    }
+
+    private static int min(int[] x, int[] selected) {
+        IntVector min = IntVector.broadcast(SPECIES, Integer.MAX_VALUE);
+        for (int i = 0; i < BLOCK; i += LANES) min = min.min(v(x, i).blend(Integer.MAX_VALUE, v(selected, i).eq(0)));
+        return min.reduceLanes(VectorOperators.MIN);
+    }
+
+    private static int max(int[] x, int[] selected) {
+        IntVector max = IntVector.broadcast(SPECIES, Integer.MIN_VALUE);
+        for (int i = 0; i < BLOCK; i += LANES) max = max.max(v(x, i).blend(Integer.MIN_VALUE, v(selected, i).eq(0)));
+        return max.reduceLanes(VectorOperators.MAX);
+    }
+
+    private static int count(int[] selected) {
+        IntVector count = IntVector.zero(SPECIES);
+        for (int i = 0; i < BLOCK; i += LANES) count = count.sub(v(selected, i)); // -1 je ausgewähltem Element
+        return count.reduceLanes(VectorOperators.ADD);
+    }
+
+    /** Lädt length Elemente ab start nach x und wählt genau diese aus; bei values == null sind es die ints ab start */
+    private static void load(int[] values, int start, int length, int[] x, int[] selected) {
+        for (int i = 0; i < BLOCK; i += LANES) {
+            IntVector.broadcast(SPECIES, length - i).compare(VectorOperators.GT, IOTA)
+                     .toVector().reinterpretAsInts().intoArray(selected, i);
+            if (values == null) IOTA.add(start + i).intoArray(x, i); // ggf. übergelaufen wie im Skalaren
+        }
+        if (values != null) System.arraycopy(values, start, x, 0, length);
+    }
+}
@@ -0,0 +1,123 @@
+import java.lang.management.*;
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Beschreibung einer Stage für `explain()`: Name, Vorgänger, Flags und Größe nach der Stage.
+ *
+ * Nach `instrumented()` erhält jede weitere Stage Metriken. Die Streams schalten dann Sinks bzw. Iteratoren
+ * vor und hinter die Stage, die Elemente, Nanosekunden und allozierte Bytes zählen. Ohne `instrumented()`
+ * bleiben die Metriken null und die Pipeline wird genau so aufgebaut wie bisher -- pro Element fällt nichts an.
+ *
+ * Die Flags werden anhand der gemeinsamen Werte aller Streams (SimpleIntStream, SimpleStream, ...) angezeigt.
+ */
+public final class PipelineStage {
+    // PARALLEL (1 << 2) gilt für die ganze Pipeline und steht in der Kopfzeile von explain()
+    private static final String[] FLAG_NAMES = { "SHORT_CIRCUIT", "STATEFUL", null, "SIZED", "SORTED", "DISTINCT" };
+
+    final String name;
+    final PipelineStage upstream; // null beim Kopf der Pipeline
+    final int flags;
+    final long size;
+    final Metrics metrics;        // null, wenn nicht instrumentiert
+
+    private PipelineStage(String name, PipelineStage upstream, int flags, long size, Metrics metrics) {
+        this.name = name;
+        this.upstream = upstream;
+        this.flags = flags;
+        this.size = size;
+        this.metrics = metrics;
+    }
+
+    /** Kopf einer Pipeline */
+    static PipelineStage head(String name, int flags, long size) {
+        return new PipelineStage(name, null, flags, size, null);
+    }
+
+    /** Stage hinter dieser; instrumentiert, wenn diese es ist */
+    PipelineStage then(String name, int flags, long size) {
+        return new PipelineStage(name, this, flags, size, isInstrumented() ? new Metrics() : null);
+    }
+
+    /** Stage hinter dieser ohne eigene Sinks (z.B. Indexsprung, Übergang zu einem anderen Stream-Typ); misst nur beim Pull */
+    PipelineStage thenUnmetered(String name, int flags, long size) {
+        return new PipelineStage(name, this, flags, size, isInstrumented() ? new Metrics(false) : null);
+    }
+
+    /** Dieselbe Stage, ab der alle folgenden Stages Metriken erhalten */
+    PipelineStage instrumented() {
+        return isInstrumented() ? this : new PipelineStage(name, upstream, flags, size, new Metrics(false));
+    }
+
+    boolean isInstrumented() { return metrics != null; }
+
+    /** Zähler einer Stage; LongAdder, weil parallele Teile gleichzeitig zählen */
+    static final class Metrics {
+        private static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
+
+        final boolean measured; // false: Stage, ab der instrumentiert wird; sie misst nur beim Pull ihren Iterator
+        final LongAdder in = new LongAdder(), out = new LongAdder();
+        final LongAdder nanos = new LongAdder(), innerNanos = new LongAdder();  // inklusive bzw. in den Nachbarn
+        final LongAdder bytes = new LongAdder(), innerBytes = new LongAdder();
+        volatile boolean pulled = false; // per Iterator ausgewertet: nur out und nanos (inklusive Vorgänger) gemessen
+
+        Metrics() { this(true); }
+        private Metrics(boolean measured) { this.measured = measured; }
+
+        private static com.sun.management.ThreadMXBean allocationCounter() {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                    && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled())
+                return threads;
+            return null;
+        }
+
+        boolean reported() { return measured || pulled; }
+
+        /** Vom aktuellen Thread bislang allozierte Bytes; 0, wenn die JVM das nicht misst */
+        static long allocatedBytes() { return THREADS == null ? 0 : THREADS.getCurrentThreadAllocatedBytes(); }
+    }
+
+    /** Die Stages vom Kopf bis hierher, jeweils mit Flags, Größe und -- falls instrumentiert -- Metriken */
+    String explain() {
+        List<PipelineStage> stages = new ArrayList<>();
+        for (PipelineStage s = this; s != null; s = s.upstream) stages.add(s);
+        Collections.reverse(stages);
+        int width = stages.stream().mapToInt(s -> s.name.length()).max().orElse(0);
+        StringBuilder result = new StringBuilder();
+        PipelineStage previous = null;
+        for (PipelineStage s : stages) {
+            result.append(previous == null ? "  " : "→ ").append(s.name);
+            result.append(" ".repeat(width - s.name.length())).append("  [").append(describe(s.flags, s.size)).append(']');
+            if (s.metrics != null && s.metrics.reported()) result.append("  ").append(s.report(previous));
+            result.append('\n');
+            previous = s;
+        }
+        return result.toString();
+    }
+
+    private static String describe(int flags, long size) {
+        StringJoiner joiner = new StringJoiner(" ");
+        for (int i = 0; i < FLAG_NAMES.length; i++) if (FLAG_NAMES[i] != null && (flags & (1 << i)) != 0) joiner.add(FLAG_NAMES[i]);
+        if (size != Long.MAX_VALUE) joiner.add(((flags & 8) != 0 ? "size=" : "size≤") + size);
+        return joiner.toString();
+    }
+
+    /**
+     * Push: in, out und die Zeit ohne die nachfolgenden Stages sind direkt gemessen.
+     * Pull: Jede Stage misst nur ihren Iterator; in und die eigene Zeit ergeben sich aus dem gemessenen Vorgänger.
+     */
+    private String report(PipelineStage previous) {
+        Metrics m = metrics;
+        Metrics p = previous != null && previous.metrics != null && previous.metrics.reported() ? previous.metrics : null;
+        long in = m.in.sum(), out = m.out.sum();
+        long selfNanos = m.nanos.sum() - m.innerNanos.sum(), selfBytes = m.bytes.sum() - m.innerBytes.sum();
+        String inText = Long.toString(in);
+        if (m.pulled) {
+            inText = p == null ? "?" : Long.toString(in = p.out.sum());
+            if (p != null) { selfNanos = m.nanos.sum() - p.nanos.sum(); selfBytes = m.bytes.sum() - p.bytes.sum(); }
+        }
+        String selectivity = in == 0 || inText.equals("?") ? "" : String.format(Locale.ROOT, " (%.1f%%)", 100.0 * out / in);
+        return String.format(Locale.ROOT, "in=%s out=%d%s  %.3f ms  %s",
+                             inText, out, selectivity, selfNanos / 1e6, Metrics.THREADS == null ? "alloc=?" : "alloc=" + selfBytes + " B");
+    }
+}
@@ -0,0 +1,34 @@
+import java.util.function.*;
+
+/**
+ * Nachbau von `java.util.stream.Collector`: Ein Collector beschreibt, wie die Elemente eines Streams
+ * in einem veränderlichen Behälter (Typ A) gesammelt und am Ende in ein Ergebnis (Typ R) verwandelt werden.
+ *
+ * - supplier:    legt einen neuen, leeren Behälter an
+ * - accumulator: nimmt ein Element in den Behälter auf
+ * - combiner:    führt zwei Behälter zusammen (bei paralleler Verarbeitung)
+ * - finisher:    macht aus dem Behälter das Ergebnis
+ *
+ * Fertige Collectoren finden sich in `SimpleCollectors`.
+ */
+public interface SimpleCollector<T, A, R> {
+    Supplier<A> supplier();
+    BiConsumer<A, T> accumulator();
+    BinaryOperator<A> combiner();
+    Function<A, R> finisher();
+
+    /** Ein Record erfüllt das Interface bereits über seine Zugriffsmethoden */
+    record Of<T, A, R>(Supplier<A> supplier, BiConsumer<A, T> accumulator,
+                       BinaryOperator<A> combiner, Function<A, R> finisher) implements SimpleCollector<T, A, R> {}
+
+    static <T, A, R> SimpleCollector<T, A, R> of(Supplier<A> supplier, BiConsumer<A, T> accumulator,
+                                                  BinaryOperator<A> combiner, Function<A, R> finisher) {
+        return new Of<>(supplier, accumulator, combiner, finisher);
+    }
+
+    /** Collector, dessen Behälter bereits das Ergebnis ist */
+    static <T, R> SimpleCollector<T, R, R> of(Supplier<R> supplier, BiConsumer<R, T> accumulator,
+                                               BinaryOperator<R> combiner) {
+        return new Of<>(supplier, accumulator, combiner, Function.identity());
+    }
+}
@@ -0,0 +1,104 @@
+import java.util.*;
+import java.util.function.*;
+
+/** Nachbau ausgewählter Collectoren aus `java.util.stream.Collectors` */
+public final class SimpleCollectors {
+    private SimpleCollectors() {}
+
+    /** ToList: sammelt alle Elemente in einer ArrayList */
+    public static <T> SimpleCollector<T, ?, List<T>> toList() {
+        return SimpleCollector.<T, List<T>>of(ArrayList::new, List::add, (a, b) -> { a.addAll(b); return a; });
+    }
+
+    /** Joining: verkettet alle Elemente zu einem String */
+    public static SimpleCollector<CharSequence, ?, String> joining() {
+        return joining("", "", "");
+    }
+
+    /** Joining: verkettet alle Elemente, getrennt durch delimiter */
+    public static SimpleCollector<CharSequence, ?, String> joining(CharSequence delimiter) {
+        return joining(delimiter, "", "");
+    }
+
+    /** Joining: verkettet alle Elemente, getrennt durch delimiter und umrahmt von prefix und suffix */
+    public static SimpleCollector<CharSequence, ?, String> joining(CharSequence delimiter,
+                                                                   CharSequence prefix, CharSequence suffix) {
+        return SimpleCollector.of(() -> new StringJoiner(delimiter, prefix, suffix), StringJoiner::add,
+                                  StringJoiner::merge, StringJoiner::toString);
+    }
+
+    /** Counting: zählt die Elemente; der Behälter ist ein long[1], damit kein Long pro Element entsteht */
+    public static <T> SimpleCollector<T, ?, Long> counting() {
+        return SimpleCollector.<T, long[], Long>of(() -> new long[1], (a, t) -> a[0]++,
+                                                   (a, b) -> { a[0] += b[0]; return a; }, a -> a[0]);
+    }
+
+    /** GroupingBy: ordnet die Elemente nach classifier in Listen ein */
+    public static <T, K> SimpleCollector<T, ?, Map<K, List<T>>> groupingBy(Function<? super T, ? extends K> classifier) {
+        return groupingBy(classifier, toList());
+    }
+
+    /** GroupingBy: ordnet die Elemente nach classifier ein und sammelt jede Gruppe mit dem downstream-Collector */
+    public static <T, K, A, D> SimpleCollector<T, ?, Map<K, D>> groupingBy(Function<? super T, ? extends K> classifier,
+                                                                         SimpleCollector<? super T, A, D> downstream) {
+        Supplier<A> supplier = downstream.supplier();
+        BiConsumer<A, ? super T> accumulator = downstream.accumulator();
+        BinaryOperator<A> combiner = downstream.combiner();
+        Function<A, D> finisher = downstream.finisher();
+        return SimpleCollector.<T, Map<K, A>, Map<K, D>>of(
+            HashMap::new,
+            (map, t) -> accumulator.accept(map.computeIfAbsent(classifier.apply(t), k -> supplier.get()), t),
+            (a, b) -> { b.forEach((k, container) -> a.merge(k, container, combiner)); return a; },
+            map -> {
+                Map<K, D> result = new HashMap<>();
+                map.forEach((k, container) -> result.put(k, finisher.apply(container)));
+                return result;
+            });
+    }
+
+    /** Teeing: gibt jedes Element an beide Collectoren weiter und verbindet ihre Ergebnisse mit merger */
+    @SuppressWarnings("unchecked") // results enthält die Ergebnisse von first und second an Stelle 0 und 1
+    public static <T, R1, R2, R> SimpleCollector<T, ?, R> teeing(SimpleCollector<? super T, ?, R1> first,
+                                                                 SimpleCollector<? super T, ?, R2> second,
+                                                                 BiFunction<? super R1, ? super R2, R> merger) {
+        return SimpleCollectors.<T, R>fanOut(List.of(first, second), results -> merger.apply((R1) results.get(0), (R2) results.get(1)));
+    }
+
+    /** FanOut: gibt jedes Element an alle collectors weiter; die Liste enthält ihre Ergebnisse in derselben Reihenfolge */
+    @SafeVarargs
+    public static <T> SimpleCollector<T, ?, List<Object>> fanOut(SimpleCollector<? super T, ?, ?>... collectors) {
+        return SimpleCollectors.<T, List<Object>>fanOut(List.of(collectors), Function.identity());
+    }
+
+    /** Behälter ist ein Array mit einem Behälter je Collector; die Collectoren werden vorab zerlegt, damit pro Element nur die Akkumulatoren laufen */
+    @SuppressWarnings("unchecked") // der Behälter an Stelle k gehört stets zum Collector an Stelle k
+    private static <T, R> SimpleCollector<T, Object[], R> fanOut(List<? extends SimpleCollector<? super T, ?, ?>> collectors,
+                                                                 Function<List<Object>, R> finisher) {
+        int n = collectors.size();
+        Supplier<Object>[] suppliers = new Supplier[n];
+        BiConsumer<Object, T>[] accumulators = new BiConsumer[n];
+        BinaryOperator<Object>[] combiners = new BinaryOperator[n];
+        Function<Object, Object>[] finishers = new Function[n];
+        for (int k = 0; k < n; k++) {
+            SimpleCollector<T, Object, Object> collector = (SimpleCollector<T, Object, Object>) collectors.get(k);
+            suppliers[k] = collector.supplier();
+            accumulators[k] = collector.accumulator();
+            combiners[k] = collector.combiner();
+            finishers[k] = collector.finisher();
+        }
+        return SimpleCollector.of(() -> {
+            Object[] containers = new Object[n];
+            for (int k = 0; k < n; k++) containers[k] = suppliers[k].get();
+            return containers;
+        }, (containers, t) -> {
+            for (int k = 0; k < n; k++) accumulators[k].accept(containers[k], t);
+        }, (a, b) -> {
+            for (int k = 0; k < n; k++) a[k] = combiners[k].apply(a[k], b[k]);
+            return a;
+        }, containers -> {
+            Object[] results = new Object[n];
+            for (int k = 0; k < n; k++) results[k] = finishers[k].apply(containers[k]);
+            return finisher.apply(Collections.unmodifiableList(Arrays.asList(results)));
+        });
+    }
+}
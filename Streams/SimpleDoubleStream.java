@@ -0,0 +1,321 @@
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ * Nachbau von `java.util.stream.DoubleStream` als Geschwister von `SimpleIntStream` und `SimpleLongStream`.
+ *
+ * Der Aufbau entspricht der Push-Variante von `SimpleIntStream`: Die Quelle schiebt ihre Elemente
+ * durch die Sink-Kette aller Stages. Auf die parallel geführte Iterator-Kette wird hier verzichtet;
+ * eine Iterator-Quelle (`of(PrimitiveIterator.OfDouble)`) wird stattdessen von ihrer Quelle durchgezogen.
+ */
+public class SimpleDoubleStream {
+    private final DoubleSource source;
+    private final Function<DoubleSink, DoubleSink> sinkChain;
+    private final int flags; // Eigenschaften der Pipeline, siehe Konstanten
+    private final long size; // exakte Anzahl der Elemente bei SIZED, sonst obere Schranke; Long.MAX_VALUE: unbekannt
+
+    // Pipeline-Flags
+    static final int SHORT_CIRCUIT = 1; // eine Stage (z.B. limit) kann vorzeitig abbrechen
+    static final int STATEFUL      = 2; // eine Stage hängt von der Reihenfolge ab (skip, limit) -> nur sequentiell
+    static final int PARALLEL      = 4; // parallel() wurde aufgerufen
+    // Charakteristika der Elemente, die Stages erhalten oder löschen
+    static final int SIZED         = 8;  // die Anzahl der Elemente ist exakt bekannt
+    static final int SORTED        = 16; // aufsteigend sortiert
+    static final int DISTINCT      = 32; // keine Duplikate
+
+    private SimpleDoubleStream(DoubleSource source, Function<DoubleSink, DoubleSink> sinkChain, int flags, long size) {
+        this.source = source;
+        this.sinkChain = sinkChain;
+        this.flags = flags;
+        this.size = size;
+    }
+
+    // ─── Push-Infrastruktur ─────────────────────────────────────────────────
+
+    /** Sink: nimmt die Elemente der Vorgänger-Stufe entgegen */
+    interface DoubleSink extends DoubleConsumer {
+        /** true, wenn keine weiteren Elemente mehr benötigt werden (z.B. nach limit) */
+        default boolean cancellationRequested() { return false; }
+    }
+
+    /** Quelle, die ihre Elemente selbst in einen Sink schiebt */
+    interface DoubleSource {
+        /** Schiebt alle Elemente in sink; bei shortCircuit wird vor jedem Element auf Abbruch geprüft */
+        void pushInto(DoubleSink sink, boolean shortCircuit);
+
+        /** Teilt die Quelle in zwei Hälften oder liefert null, wenn sie sich nicht teilen lässt */
+        default DoubleSource[] split() { return null; }
+
+        /** Anzahl der Elemente, Long.MAX_VALUE wenn unbekannt */
+        default long size() { return Long.MAX_VALUE; }
+
+        /** Charakteristika der Quelle (SIZED, SORTED, DISTINCT) */
+        default int characteristics() { return 0; }
+
+        /** Ausschnitt [from, to) der Quelle per Indexsprung oder null, wenn die Quelle keinen Indexzugriff hat */
+        default DoubleSource slice(long from, long to) { return null; }
+    }
+
+    /** Teilbare Quelle für den Array-Ausschnitt values[from, to) */
+    private record ArraySource(double[] values, int from, int to) implements DoubleSource {
+        @Override public void pushInto(DoubleSink sink, boolean shortCircuit) {
+            if (shortCircuit) for (int i = from; i < to && !sink.cancellationRequested(); i++) sink.accept(values[i]);
+            else              for (int i = from; i < to; i++) sink.accept(values[i]);
+        }
+        @Override public DoubleSource[] split() {
+            if (size() < 2) return null;
+            int mid = (from + to) >>> 1;
+            return new DoubleSource[] { new ArraySource(values, from, mid), new ArraySource(values, mid, to) };
+        }
+        @Override public long size() { return to - from; }
+        @Override public int characteristics() { return SIZED; }
+        @Override public DoubleSource slice(long from, long to) {
+            return new ArraySource(values, (int) (this.from + Math.min(from, size())), (int) (this.from + Math.min(to, size())));
+        }
+    }
+
+    /** Sink einer Intermediate-Stage, der an den nachfolgenden Sink weiterreicht */
+    static abstract class ChainedDoubleSink implements DoubleSink {
+        final DoubleSink downstream;
+        ChainedDoubleSink(DoubleSink downstream) { this.downstream = downstream; }
+        @Override public boolean cancellationRequested() { return downstream.cancellationRequested(); }
+    }
+
+    /** Kopf einer Pipeline */
+    static SimpleDoubleStream head(DoubleSource source) {
+        return head(source, source.characteristics(), source.size());
+    }
+
+    /** Kopf einer Pipeline, deren Quelle Charakteristika und Größe nicht selbst kennt */
+    static SimpleDoubleStream head(DoubleSource source, int characteristics, long size) {
+        return new SimpleDoubleStream(source, Function.identity(), characteristics, size);
+    }
+
+    /** Hängt eine Stage an; flags und size beschreiben die Pipeline nach der Stage */
+    private SimpleDoubleStream chain(UnaryOperator<DoubleSink> stage, int flags, long size) {
+        return new SimpleDoubleStream(source, sinkChain.compose(stage), flags, size);
+    }
+
+    /** Schneidet [from, to) per Indexsprung aus der Quelle, solange alle Stages 1:1 weiterreichen */
+    private SimpleDoubleStream slice(long from, long to) {
+        if ((flags & (SIZED | STATEFUL)) != SIZED) return null;
+        DoubleSource sliced = source.slice(from, to);
+        if (sliced == null) return null;
+        return new SimpleDoubleStream(sliced, sinkChain, flags, sliced.size());
+    }
+
+    /** Setzt die Pipeline in Gang */
+    private <S extends DoubleSink> S evaluate(S terminal) { return evaluate(terminal, false); }
+
+    <S extends DoubleSink> S evaluate(S terminal, boolean shortCircuit) {
+        source.pushInto(sinkChain.apply(terminal), (flags & SHORT_CIRCUIT) != 0 || shortCircuit);
+        return terminal;
+    }
+
+    /** Wertet die Pipeline aus; im parallelen Modus per Fork/Join über die geteilte Quelle (siehe SimpleIntStream) */
+    private <S extends DoubleSink> S evaluate(Supplier<S> terminal, BinaryOperator<S> combiner) {
+        if ((flags & (PARALLEL | STATEFUL)) != PARALLEL || source.split() == null)
+            return evaluate(terminal.get());
+        long threshold = Math.max(source.size() / (ForkJoinPool.getCommonPoolParallelism() * 4L), 1);
+        class EvaluationTask extends RecursiveTask<S> {
+            private final DoubleSource part;
+            EvaluationTask(DoubleSource part) { this.part = part; }
+            @Override protected S compute() {
+                DoubleSource[] halves = part.size() > threshold ? part.split() : null;
+                if (halves == null) {
+                    S sink = terminal.get();
+                    part.pushInto(sinkChain.apply(sink), false);
+                    return sink;
+                }
+                EvaluationTask left = new EvaluationTask(halves[0]);
+                left.fork();
+                S right = new EvaluationTask(halves[1]).compute();
+                return combiner.apply(left.join(), right);
+            }
+        }
+        return new EvaluationTask(source).invoke();
+    }
+
+    // ─── Quell-Stage ("Head") ─────────────────────────────────────────────────
+
+    /** Erzeugt einen Stream aus den angegebenen Werten */
+    public static SimpleDoubleStream of(double... values) {
+        return head(new ArraySource(values, 0, values.length));
+    }
+
+    /** Wandelt einen Iterator in einen Stream */
+    public static SimpleDoubleStream of(PrimitiveIterator.OfDouble it) {
+        return head((sink, shortCircuit) -> {
+            while (!sink.cancellationRequested() && it.hasNext()) sink.accept(it.nextDouble());
+        });
+    }
+
+    /** Leerer Stream */
+    public static SimpleDoubleStream empty() {
+        return of();
+    }
+
+    /** Unendlicher Stream: f(seed), f(f(seed)), … */
+    public static SimpleDoubleStream iterate(double seed, DoubleUnaryOperator f) {
+        return head((sink, shortCircuit) -> { // unendlich: endet nur durch Abbruch
+            for (double curr = seed; !sink.cancellationRequested(); curr = f.applyAsDouble(curr)) sink.accept(curr);
+        });
+    }
+
+    /** Unendlicher Stream: wiederholt Werte aus dem Supplier */
+    public static SimpleDoubleStream generate(DoubleSupplier supplier) {
+        return head((sink, shortCircuit) -> { // unendlich: endet nur durch Abbruch
+            while (!sink.cancellationRequested()) sink.accept(supplier.getAsDouble());
+        });
+    }
+
+    // ─── Intermediate-Stages ────────────────────────────────────────────────
+
+    /** Filter: behält nur diejenigen doubles, für die predicate true ist */
+    public SimpleDoubleStream filter(DoublePredicate predicate) {
+        return chain(sink -> new ChainedDoubleSink(sink) {
+            @Override public void accept(double v) { if (predicate.test(v)) downstream.accept(v); }
+        }, flags & ~SIZED, size);
+    }
+
+    /** Skip: überspringt n Elemente */
+    public SimpleDoubleStream skip(long n) {
+        SimpleDoubleStream sliced = slice(n, Long.MAX_VALUE);
+        if (sliced != null) return sliced;
+        return chain(sink -> new ChainedDoubleSink(sink) {
+            private long counter = n;
+            @Override public void accept(double v) {
+                if (counter > 0) counter--;
+                else downstream.accept(v);
+            }
+        }, flags | STATEFUL, size == Long.MAX_VALUE ? size : Math.max(0, size - n));
+    }
+
+    /** Limit: behält nur die ersten n Elemente */
+    public SimpleDoubleStream limit(long n) {
+        SimpleDoubleStream sliced = slice(0, n);
+        if (sliced != null) return sliced;
+        return chain(sink -> new ChainedDoubleSink(sink) {
+            private long counter = n;
+            @Override public void accept(double v) {
+                if (counter > 0) { counter--; downstream.accept(v); }
+            }
+            @Override public boolean cancellationRequested() {
+                return counter <= 0 || downstream.cancellationRequested();
+            }
+        }, flags | SHORT_CIRCUIT | STATEFUL, Math.min(size, n));
+    }
+
+    /** Map: wendet mapper auf jedes Element an */
+    public SimpleDoubleStream map(DoubleUnaryOperator mapper) {
+        return chain(sink -> new ChainedDoubleSink(sink) {
+            @Override public void accept(double v) { downstream.accept(mapper.applyAsDouble(v)); }
+        }, flags & ~(SORTED | DISTINCT), size);
+    }
+
+    public <T> SimpleStream<T> mapToObj(DoubleFunction<T> mapper) {
+        return SimpleStream.head("SimpleDoubleStream.mapToObj", (sink, shortCircuit) -> evaluate(new DoubleSink() {
+            @Override public void accept(double v) { sink.accept(mapper.apply(v)); }
+            @Override public boolean cancellationRequested() { return sink.cancellationRequested(); }
+        }, shortCircuit), (flags & SIZED) != 0 ? SimpleStream.SIZED : 0, size);
+    }
+
+    public SimpleIntStream mapToInt(DoubleToIntFunction mapper) {
+        return SimpleIntStream.head("SimpleDoubleStream.mapToInt", (sink, shortCircuit) -> evaluate(new DoubleSink() {
+            @Override public void accept(double v) { sink.accept(mapper.applyAsInt(v)); }
+            @Override public boolean cancellationRequested() { return sink.cancellationRequested(); }
+        }, shortCircuit), (flags & SIZED) != 0 ? SimpleIntStream.SIZED : 0, size);
+    }
+
+    public SimpleLongStream mapToLong(DoubleToLongFunction mapper) {
+        return SimpleLongStream.head((sink, shortCircuit) -> evaluate(new DoubleSink() {
+            @Override public void accept(double v) { sink.accept(mapper.applyAsLong(v)); }
+            @Override public boolean cancellationRequested() { return sink.cancellationRequested(); }
+        }, shortCircuit), (flags & SIZED) != 0 ? SimpleLongStream.SIZED : 0, size);
+    }
+
+    /** Peek: verarbeite jedes Element mit action */
+    public SimpleDoubleStream peek(DoubleConsumer action) {
+        return map(n -> { action.accept(n); return n; });
+    }
+
+    /** Parallel: Terminal-Operationen teilen die Quelle auf und verarbeiten die Teile im ForkJoinPool */
+    public SimpleDoubleStream parallel() {
+        return new SimpleDoubleStream(source, sinkChain, flags | PARALLEL, size);
+    }
+
+    /** Sequential: hebt parallel() wieder auf */
+    public SimpleDoubleStream sequential() {
+        return new SimpleDoubleStream(source, sinkChain, flags & ~PARALLEL, size);
+    }
+
+    public boolean isParallel() { return (flags & PARALLEL) != 0; }
+
+    // ─── Terminal-Stages ────────────────────────────────────────────────────
+
+    /** Reduce: kombiniert mit identity beginnend alle Element mit op zu einem einzigen Ergebnis */
+    public double reduce(double identity, DoubleBinaryOperator op) {
+        class ReducingSink implements DoubleSink {
+            double result = identity;
+            @Override public void accept(double v) { result = op.applyAsDouble(result, v); }
+        }
+        return evaluate(ReducingSink::new, (a, b) -> { a.result = op.applyAsDouble(a.result, b.result); return a; }).result;
+    }
+
+    /** Reduce: kombiniert alle Elemente mit op zu einem einzigen Ergebnis */
+    public OptionalDouble reduce(DoubleBinaryOperator op) {
+        class ReducingSink implements DoubleSink {
+            boolean empty = true;
+            double result;
+            @Override public void accept(double v) {
+                if (empty) { empty = false; result = v; }
+                else result = op.applyAsDouble(result, v);
+            }
+        }
+        ReducingSink sink = evaluate(ReducingSink::new, (a, b) -> { if (!b.empty) a.accept(b.result); return a; });
+        return sink.empty ? OptionalDouble.empty() : OptionalDouble.of(sink.result);
+    }
+
+    /** ForEach: verarbeitet jedes Element mit action (parallel in beliebiger Reihenfolge) */
+    public void forEach(DoubleConsumer action) { evaluate(() -> action::accept, (a, b) -> a); }
+
+    /** Sum: Addiert alle Elemente mit Kahan-Summation (wie DoubleSummaryStatistics), um Rundungsfehler klein zu halten */
+    public double sum() { return summaryStatistics().getSum(); }
+
+    /** Count: Zählt die Anzahl der Elemente; bei bekannter Größe (SIZED) ohne Traversierung */
+    public long count() {
+        if ((flags & SIZED) != 0) return size;
+        class CountSink implements DoubleSink {
+            long count;
+            @Override public void accept(double v) { count++; }
+        }
+        return evaluate(CountSink::new, (a, b) -> { a.count += b.count; return a; }).count;
+    }
+
+    /** Min: kleinstes Element (NaN, falls ein Element NaN ist) */
+    public OptionalDouble min() { return reduce(Math::min); }
+
+    /** Max: größtes Element (NaN, falls ein Element NaN ist) */
+    public OptionalDouble max() { return reduce(Math::max); }
+
+    /** Average: Mittelwert aller Elemente */
+    public OptionalDouble average() {
+        DoubleSummaryStatistics statistics = summaryStatistics();
+        if (statistics.getCount() == 0) { return OptionalDouble.empty(); }
+        return OptionalDouble.of(statistics.getAverage());
+    }
+
+    /** SummaryStatistics: count, sum, min, max und average in einem Durchlauf, ohne Boxing */
+    public DoubleSummaryStatistics summaryStatistics() {
+        class StatisticsSink implements DoubleSink {
+            final DoubleSummaryStatistics statistics = new DoubleSummaryStatistics();
+            @Override public void accept(double v) { statistics.accept(v); }
+        }
+        return evaluate(StatisticsSink::new, (a, b) -> { a.statistics.combine(b.statistics); return a; }).statistics;
+    }
+
+    // FindFirst: Liefere erstes Element im Stream aus */
+    public OptionalDouble findFirst() { return limit(1).reduce((a, b) -> a); }
+
+}
@@ -0,0 +1,65 @@
+import java.util.function.*;
+
+/**
+ * Nachbau von `java.util.stream.Gatherer`: Ein Gatherer ist eine frei programmierbare Intermediate-Stage.
+ * Er sieht jedes Element, kann sich in einem Zustand (Typ A) etwas merken und beliebig viele Ergebnisse
+ * (Typ R) an die nächste Stage weiterreichen -- auch keines oder erst am Ende.
+ *
+ * - initializer: legt den Zustand an
+ * - integrator:  verarbeitet ein Element; liefert false, wenn keine weiteren Elemente mehr gebraucht werden
+ * - finisher:    wird am Ende des Stroms aufgerufen und kann noch Restergebnisse weiterreichen
+ *
+ * Anders als beim "echten" Gatherer gibt es keinen combiner; `gather` verarbeitet stets sequentiell.
+ * Fertige Gatherer finden sich in `SimpleGatherers`.
+ */
+public interface SimpleGatherer<T, A, R> {
+    Supplier<A> initializer();
+    Integrator<A, T, R> integrator();
+    BiConsumer<A, Downstream<? super R>> finisher();
+
+    @FunctionalInterface
+    interface Integrator<A, T, R> {
+        boolean integrate(A state, T element, Downstream<? super R> downstream);
+    }
+
+    /** Die nachfolgende Stage; push liefert false, wenn sie keine weiteren Elemente mehr annimmt */
+    @FunctionalInterface
+    interface Downstream<R> {
+        boolean push(R element);
+    }
+
+    record Of<T, A, R>(Supplier<A> initializer, Integrator<A, T, R> integrator,
+                       BiConsumer<A, Downstream<? super R>> finisher) implements SimpleGatherer<T, A, R> {}
+
+    static <T, A, R> SimpleGatherer<T, A, R> of(Supplier<A> initializer, Integrator<A, T, R> integrator,
+                                                 BiConsumer<A, Downstream<? super R>> finisher) {
+        return new Of<>(initializer, integrator, finisher);
+    }
+
+    // ─── Primitive Variante für SimpleIntStream ─────────────────────────────
+
+    /** Gatherer für SimpleIntStream: ints hinein, ints hinaus, ohne Boxing */
+    interface OfInt<A> {
+        Supplier<A> initializer();
+        IntIntegrator<A> integrator();
+        BiConsumer<A, IntDownstream> finisher();
+    }
+
+    @FunctionalInterface
+    interface IntIntegrator<A> {
+        boolean integrate(A state, int element, IntDownstream downstream);
+    }
+
+    @FunctionalInterface
+    interface IntDownstream {
+        boolean push(int element);
+    }
+
+    record IntOf<A>(Supplier<A> initializer, IntIntegrator<A> integrator,
+                    BiConsumer<A, IntDownstream> finisher) implements OfInt<A> {}
+
+    static <A> OfInt<A> ofInt(Supplier<A> initializer, IntIntegrator<A> integrator,
+                              BiConsumer<A, IntDownstream> finisher) {
+        return new IntOf<>(initializer, integrator, finisher);
+    }
+}
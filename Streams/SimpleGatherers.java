@@ -0,0 +1,169 @@
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Nachbau ausgewählter Gatherer aus `java.util.stream.Gatherers`.
+ *
+ * Die Varianten für SimpleIntStream geben ein Fenster nicht als neue Liste weiter, sondern verdichten es
+ * mit einer Aggregatfunktion zu einem int. Das Fenster selbst ist ein Ringpuffer (`IntWindow`), der für
+ * alle Fenster eines Durchlaufs wiederverwendet wird.
+ */
+public final class SimpleGatherers {
+    private SimpleGatherers() {}
+
+    /** WindowFixed: fasst je size Elemente zu einer Liste zusammen; die letzte Liste darf kürzer sein */
+    public static <T> SimpleGatherer<T, ?, List<T>> windowFixed(int size) {
+        if (size < 1) throw new IllegalArgumentException("Fenstergröße muss positiv sein: " + size);
+        return SimpleGatherer.<T, List<T>, List<T>>of(
+            () -> new ArrayList<>(size),
+            (window, element, downstream) -> {
+                window.add(element);
+                if (window.size() < size) return true;
+                List<T> full = copyOf(window);
+                window.clear();
+                return downstream.push(full);
+            },
+            (window, downstream) -> { if (!window.isEmpty()) downstream.push(copyOf(window)); });
+    }
+
+    /** WindowSliding: gleitendes Fenster aus size Elementen; bei weniger Elementen ein einziges, kürzeres Fenster */
+    public static <T> SimpleGatherer<T, ?, List<T>> windowSliding(int size) {
+        if (size < 1) throw new IllegalArgumentException("Fenstergröße muss positiv sein: " + size);
+        return SimpleGatherer.<T, LinkedList<T>, List<T>>of(
+            LinkedList::new, // anders als ArrayDeque auch mit null-Elementen
+            (window, element, downstream) -> {
+                if (window.size() == size) window.removeFirst();
+                window.addLast(element);
+                return window.size() < size || downstream.push(copyOf(window));
+            },
+            (window, downstream) -> { if (!window.isEmpty() && window.size() < size) downstream.push(copyOf(window)); });
+    }
+
+    /** Unveränderliche Kopie eines Fensters; anders als List.copyOf auch mit null-Elementen */
+    private static <T> List<T> copyOf(Collection<T> window) {
+        return Collections.unmodifiableList(new ArrayList<>(window));
+    }
+
+    /** Scan: reicht jedes Zwischenergebnis der fortlaufenden Verknüpfung weiter */
+    public static <T, R> SimpleGatherer<T, ?, R> scan(Supplier<R> initial, BiFunction<? super R, ? super T, ? extends R> scanner) {
+        class State { R current = initial.get(); }
+        return SimpleGatherer.<T, State, R>of(
+            State::new,
+            (state, element, downstream) -> downstream.push(state.current = scanner.apply(state.current, element)),
+            (state, downstream) -> {});
+    }
+
+    /** Fold: verknüpft alle Elemente und reicht am Ende genau ein Ergebnis weiter */
+    public static <T, R> SimpleGatherer<T, ?, R> fold(Supplier<R> initial, BiFunction<? super R, ? super T, ? extends R> folder) {
+        class State { R current = initial.get(); }
+        return SimpleGatherer.<T, State, R>of(
+            State::new,
+            (state, element, downstream) -> { state.current = folder.apply(state.current, element); return true; },
+            (state, downstream) -> downstream.push(state.current));
+    }
+
+    // ─── Varianten für SimpleIntStream ──────────────────────────────────────
+
+    /** WindowFixed: verdichtet je size Elemente mit aggregate; das letzte Fenster darf kürzer sein */
+    public static SimpleGatherer.OfInt<?> windowFixed(int size, ToIntFunction<IntWindow> aggregate) {
+        if (size < 1) throw new IllegalArgumentException("Fenstergröße muss positiv sein: " + size);
+        return SimpleGatherer.<IntWindow>ofInt(
+            () -> new IntWindow(size),
+            (window, element, downstream) -> {
+                window.add(element);
+                if (window.size() < size) return true;
+                int result = aggregate.applyAsInt(window);
+                window.clear();
+                return downstream.push(result);
+            },
+            (window, downstream) -> { if (window.size() > 0) downstream.push(aggregate.applyAsInt(window)); });
+    }
+
+    /** WindowSliding: verdichtet jedes gleitende Fenster aus size Elementen mit aggregate */
+    public static SimpleGatherer.OfInt<?> windowSliding(int size, ToIntFunction<IntWindow> aggregate) {
+        if (size < 1) throw new IllegalArgumentException("Fenstergröße muss positiv sein: " + size);
+        return SimpleGatherer.<IntWindow>ofInt(
+            () -> new IntWindow(size),
+            (window, element, downstream) -> {
+                window.add(element);
+                return window.size() < size || downstream.push(aggregate.applyAsInt(window));
+            },
+            // ein Fenster, das nie voll wurde, ist noch nicht weitergereicht worden
+            (window, downstream) -> { if (window.size() > 0 && window.size() < size) downstream.push(aggregate.applyAsInt(window)); });
+    }
+
+    /** Scan: reicht jedes Zwischenergebnis der fortlaufenden Verknüpfung weiter */
+    public static SimpleGatherer.OfInt<?> scan(int initial, IntBinaryOperator scanner) {
+        class State { int current = initial; }
+        return SimpleGatherer.<State>ofInt(
+            State::new,
+            (state, element, downstream) -> downstream.push(state.current = scanner.applyAsInt(state.current, element)),
+            (state, downstream) -> {});
+    }
+
+    /** Fold: verknüpft alle Elemente und reicht am Ende genau ein Ergebnis weiter */
+    public static SimpleGatherer.OfInt<?> fold(int initial, IntBinaryOperator folder) {
+        class State { int current = initial; }
+        return SimpleGatherer.<State>ofInt(
+            State::new,
+            (state, element, downstream) -> { state.current = folder.applyAsInt(state.current, element); return true; },
+            (state, downstream) -> downstream.push(state.current));
+    }
+
+    /**
+     * Fenster über ints als Ringpuffer fester Kapazität: Ist er voll, überschreibt add das älteste Element.
+     * Die Summe wird beim Einfügen und Verdrängen fortgeschrieben. Ein IntWindow ist nur innerhalb der
+     * Aggregatfunktion gültig und darf nicht aufbewahrt werden, denn es wird für das nächste Fenster wiederverwendet.
+     */
+    public static final class IntWindow {
+        private final int[] ring;
+        private int start = 0, size = 0;
+        private long sum = 0;
+
+        IntWindow(int capacity) { ring = new int[capacity]; }
+
+        void add(int v) {
+            if (size == ring.length) {
+                sum -= ring[start];
+                ring[start] = v;
+                start = start + 1 == ring.length ? 0 : start + 1;
+            } else {
+                ring[(start + size) % ring.length] = v;
+                size++;
+            }
+            sum += v;
+        }
+
+        void clear() { start = size = 0; sum = 0; }
+
+        public int size() { return size; }
+
+        /** i-tes Element, gezählt ab dem ältesten */
+        public int get(int i) { return ring[(start + Objects.checkIndex(i, size)) % ring.length]; }
+
+        public long sum() { return sum; }
+
+        public double average() { return size == 0 ? Double.NaN : (double) sum / size; }
+
+        public int min() {
+            int min = Integer.MAX_VALUE;
+            for (int i = 0; i < size; i++) min = Math.min(min, get(i));
+            return min;
+        }
+
+        public int max() {
+            int max = Integer.MIN_VALUE;
+            for (int i = 0; i < size; i++) max = Math.max(max, get(i));
+            return max;
+        }
+
+        /** Kopie des Fensterinhalts, falls er doch aufbewahrt werden soll */
+        public int[] toArray() {
+            int[] result = new int[size];
+            for (int i = 0; i < size; i++) result[i] = get(i);
+            return result;
+        }
+
+        @Override public String toString() { return Arrays.toString(toArray()); }
+    }
+}
@@ -0,0 +1,33 @@
+import java.util.function.*;
+
+/**
+ * Collector für die ints eines `SimpleIntStream`, ohne Boxing: Der accumulator nimmt ein int entgegen.
+ * Sonst wie `SimpleCollector`:
+ *
+ * - supplier:    legt einen neuen, leeren Behälter an
+ * - accumulator: nimmt ein Element in den Behälter auf
+ * - combiner:    führt zwei Behälter zusammen (bei paralleler Verarbeitung)
+ * - finisher:    macht aus dem Behälter das Ergebnis
+ *
+ * Fertige Collectoren finden sich in `SimpleIntCollectors`.
+ */
+public interface SimpleIntCollector<A, R> {
+    Supplier<A> supplier();
+    ObjIntConsumer<A> accumulator();
+    BinaryOperator<A> combiner();
+    Function<A, R> finisher();
+
+    /** Ein Record erfüllt das Interface bereits über seine Zugriffsmethoden */
+    record Of<A, R>(Supplier<A> supplier, ObjIntConsumer<A> accumulator,
+                    BinaryOperator<A> combiner, Function<A, R> finisher) implements SimpleIntCollector<A, R> {}
+
+    static <A, R> SimpleIntCollector<A, R> of(Supplier<A> supplier, ObjIntConsumer<A> accumulator,
+                                              BinaryOperator<A> combiner, Function<A, R> finisher) {
+        return new Of<>(supplier, accumulator, combiner, finisher);
+    }
+
+    /** Collector, dessen Behälter bereits das Ergebnis ist */
+    static <R> SimpleIntCollector<R, R> of(Supplier<R> supplier, ObjIntConsumer<R> accumulator, BinaryOperator<R> combiner) {
+        return new Of<>(supplier, accumulator, combiner, Function.identity());
+    }
+}
@@ -0,0 +1,99 @@
+import java.util.*;
+import java.util.function.*;
+
+/** Collectoren für `SimpleIntStream.collect(...)`; mit teeing und fanOut entstehen mehrere Ergebnisse in einem Durchlauf */
+public final class SimpleIntCollectors {
+    private SimpleIntCollectors() {}
+
+    /** Sum: Summe der Elemente; läuft wie SimpleIntStream.sum() über */
+    public static SimpleIntCollector<?, Integer> sum() {
+        return SimpleIntCollector.<int[], Integer>of(() -> new int[1], (a, v) -> a[0] += v,
+                                                     (a, b) -> { a[0] += b[0]; return a; }, a -> a[0]);
+    }
+
+    /** Count: Anzahl der Elemente; wirft wie SimpleIntStream.count() ArithmeticException jenseits von Integer.MAX_VALUE */
+    public static SimpleIntCollector<?, Integer> count() {
+        return SimpleIntCollector.<long[], Integer>of(() -> new long[1], (a, v) -> a[0]++,
+                                                      (a, b) -> { a[0] += b[0]; return a; }, a -> Math.toIntExact(a[0]));
+    }
+
+    /** Reducing: kombiniert mit identity beginnend alle Elemente mit op */
+    public static SimpleIntCollector<?, Integer> reducing(int identity, IntBinaryOperator op) {
+        return SimpleIntCollector.<int[], Integer>of(() -> new int[] {identity}, (a, v) -> a[0] = op.applyAsInt(a[0], v),
+                                                     (a, b) -> { a[0] = op.applyAsInt(a[0], b[0]); return a; }, a -> a[0]);
+    }
+
+    /** Reducing: kombiniert alle Elemente mit op; leer, wenn es keine gibt. Behälter: {0 = leer / 1, Ergebnis} */
+    public static SimpleIntCollector<?, OptionalInt> reducing(IntBinaryOperator op) {
+        return SimpleIntCollector.<int[], OptionalInt>of(() -> new int[2], (a, v) -> {
+            a[1] = a[0] == 0 ? v : op.applyAsInt(a[1], v);
+            a[0] = 1;
+        }, (a, b) -> {
+            if (b[0] == 0) return a;
+            if (a[0] == 0) return b;
+            a[1] = op.applyAsInt(a[1], b[1]);
+            return a;
+        }, a -> a[0] == 0 ? OptionalInt.empty() : OptionalInt.of(a[1]));
+    }
+
+    public static SimpleIntCollector<?, OptionalInt> min() { return reducing(Math::min); }
+
+    public static SimpleIntCollector<?, OptionalInt> max() { return reducing(Math::max); }
+
+    /** Summarizing: count, sum, min, max und average zusammen */
+    public static SimpleIntCollector<?, IntSummaryStatistics> summarizing() {
+        return SimpleIntCollector.of(IntSummaryStatistics::new, IntSummaryStatistics::accept, (a, b) -> { a.combine(b); return a; });
+    }
+
+    /** CountByValue: wie oft jeder Wert vorkommt (siehe IntCounts) */
+    public static SimpleIntCollector<?, IntCounts> countByValue() { return groupingBy(v -> v); }
+
+    /** GroupingBy: wie viele Elemente auf jeden Schlüssel classifier(v) entfallen */
+    public static SimpleIntCollector<?, IntCounts> groupingBy(IntUnaryOperator classifier) {
+        return SimpleIntCollector.of(IntCounts::new, (counts, v) -> counts.add(classifier.applyAsInt(v)),
+                                     (a, b) -> a.size() < b.size() ? b.addAll(a) : a.addAll(b)); // die kleinere einsortieren
+    }
+
+    /** Teeing: gibt jedes Element an beide Collectoren weiter und verbindet ihre Ergebnisse mit merger */
+    @SuppressWarnings("unchecked") // results enthält die Ergebnisse von first und second an Stelle 0 und 1
+    public static <R1, R2, R> SimpleIntCollector<?, R> teeing(SimpleIntCollector<?, R1> first, SimpleIntCollector<?, R2> second,
+                                                              BiFunction<? super R1, ? super R2, R> merger) {
+        return fanOut(new SimpleIntCollector<?, ?>[] {first, second}, results -> merger.apply((R1) results.get(0), (R2) results.get(1)));
+    }
+
+    /** FanOut: gibt jedes Element an alle collectors weiter; die Liste enthält ihre Ergebnisse in derselben Reihenfolge */
+    public static SimpleIntCollector<?, List<Object>> fanOut(SimpleIntCollector<?, ?>... collectors) {
+        return fanOut(collectors.clone(), Function.identity());
+    }
+
+    /** Behälter ist ein Array mit einem Behälter je Collector; die Collectoren werden vorab zerlegt, damit pro Element nur die Akkumulatoren laufen */
+    @SuppressWarnings("unchecked") // der Behälter an Stelle k gehört stets zum Collector an Stelle k
+    private static <R> SimpleIntCollector<Object[], R> fanOut(SimpleIntCollector<?, ?>[] collectors, Function<List<Object>, R> finisher) {
+        int n = collectors.length;
+        Supplier<Object>[] suppliers = new Supplier[n];
+        ObjIntConsumer<Object>[] accumulators = new ObjIntConsumer[n];
+        BinaryOperator<Object>[] combiners = new BinaryOperator[n];
+        Function<Object, Object>[] finishers = new Function[n];
+        for (int k = 0; k < n; k++) {
+            SimpleIntCollector<Object, Object> collector = (SimpleIntCollector<Object, Object>) collectors[k];
+            suppliers[k] = collector.supplier();
+            accumulators[k] = collector.accumulator();
+            combiners[k] = collector.combiner();
+            finishers[k] = collector.finisher();
+        }
+        return SimpleIntCollector.of(() -> {
+            Object[] containers = new Object[n];
+            for (int k = 0; k < n; k++) containers[k] = suppliers[k].get();
+            return containers;
+        }, (containers, v) -> {
+            for (int k = 0; k < n; k++) accumulators[k].accept(containers[k], v);
+        }, (a, b) -> {
+            for (int k = 0; k < n; k++) a[k] = combiners[k].apply(a[k], b[k]);
+            return a;
+        }, containers -> {
+            Object[] results = new Object[n];
+            for (int k = 0; k < n; k++) results[k] = finishers[k].apply(containers[k]);
+            return finisher.apply(Collections.unmodifiableList(Arrays.asList(results)));
+        });
+    }
+}
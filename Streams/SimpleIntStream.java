@@ -1,23 +1,579 @@
+import java.io.*;
+import java.lang.foreign.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.*;
 import java.util.function.*;
 
 public class SimpleIntStream {
     // Ein Supplier liefert bei Bedarf einen frischen Iterator über die Basis-Daten + alle verketteten Stages
     private final Supplier<PrimitiveIterator.OfInt> iteratorSupplier;
+    // Push-Variante derselben Pipeline: die Quelle schiebt ihre Elemente durch die Sink-Kette aller Stages.
+    // source == null bei Iterator-Quellen -- dann ziehen die Terminal-Operationen über iteratorSupplier (Fallback)
+    private final IntSource source;
+    private final Function<IntSink, IntSink> sinkChain;
+    // Block-Variante (siehe IntChunks): macht aus den Blöcken der Quelle die Blöcke dieser Stage.
+    // null, sobald eine Stage keine Blöcke verarbeiten kann -- dann bleibt es beim Push über sinkChain
+    private final UnaryOperator<IntChunks> chunkChain;
+    private final int flags; // Eigenschaften der Pipeline, siehe Konstanten
+    private final long size; // exakte Anzahl der Elemente bei SIZED, sonst obere Schranke; Long.MAX_VALUE: unbekannt
+    private final PipelineStage pipelineStage; // Name und Vorgänger dieser Stage für explain(), ggf. mit Metriken
 
-    private SimpleIntStream(Supplier<PrimitiveIterator.OfInt> supplier) {
+    // Pipeline-Flags
+    static final int SHORT_CIRCUIT = 1; // eine Stage (z.B. limit) kann vorzeitig abbrechen
+    static final int STATEFUL      = 2; // eine Stage hängt von der Reihenfolge ab (skip, limit) -> nur sequentiell
+    static final int PARALLEL      = 4; // parallel() wurde aufgerufen
+    // Charakteristika der Elemente, die Stages erhalten oder löschen
+    static final int SIZED         = 8;  // die Anzahl der Elemente ist exakt bekannt
+    static final int SORTED        = 16; // aufsteigend sortiert
+    static final int DISTINCT      = 32; // keine Duplikate
+
+    private SimpleIntStream(Supplier<PrimitiveIterator.OfInt> supplier, String name) {
+        this(supplier, null, null, 0, Long.MAX_VALUE, PipelineStage.head(name, 0, Long.MAX_VALUE));
+    }
+
+    private SimpleIntStream(Supplier<PrimitiveIterator.OfInt> supplier, IntSource source,
+                            Function<IntSink, IntSink> sinkChain, int flags, long size, PipelineStage pipelineStage) {
+        this(supplier, source, sinkChain, null, flags, size, pipelineStage);
+    }
+
+    private SimpleIntStream(Supplier<PrimitiveIterator.OfInt> supplier, IntSource source, Function<IntSink, IntSink> sinkChain,
+                            UnaryOperator<IntChunks> chunkChain, int flags, long size, PipelineStage pipelineStage) {
         this.iteratorSupplier = supplier;
+        this.source = source;
+        this.sinkChain = sinkChain;
+        this.chunkChain = chunkChain;
+        this.flags = flags;
+        this.size = size;
+        this.pipelineStage = pipelineStage;
+    }
+
+    // ─── Push-Infrastruktur ─────────────────────────────────────────────────
+
+    /** Sink: nimmt die Elemente der Vorgänger-Stufe entgegen (push statt pull) */
+    interface IntSink extends IntConsumer {
+        /** true, wenn keine weiteren Elemente mehr benötigt werden (z.B. nach limit) */
+        default boolean cancellationRequested() { return false; }
+
+        /** Signalisiert das Ende des Stroms; Stages mit Zustand (z.B. gather) reichen hier Restergebnisse weiter */
+        default void end() {}
+
+        /** Die Auswertung bricht mit einer Exception ab, end() kommt nicht mehr; Stages geben hier Ressourcen frei */
+        default void abort() {}
+
+        /** Nimmt die ersten length Elemente von buffer auf einmal entgegen (siehe IntChunks) */
+        default void acceptChunk(int[] buffer, int length) {
+            for (int i = 0; i < length; i++) accept(buffer[i]);
+        }
+    }
+
+    /**
+     * Block-Protokoll: Statt ein Element pro Aufruf zu ziehen (Iterator) oder zu schieben (Sink), füllt
+     * nextChunk den übergebenen Puffer mit bis zu max Elementen und liefert deren Anzahl, 0 erst am Ende.
+     * map, filter, skip und limit bearbeiten so ganze Blöcke in engen Schleifen, die der JIT-Compiler
+     * entrollen kann, und der Aufruf der nächsten Stage fällt nur einmal pro Block an. Jede Stage fordert
+     * höchstens an, was sie für max Elemente braucht: Nach einem limit sehen die Stages davor (und ihre
+     * Seiteneffekte) kein Element mehr als beim Push. Quellen ohne Blöcke (z.B. Iteratoren) und alle
+     * übrigen Stages bleiben beim Push.
+     */
+    @FunctionalInterface
+    interface IntChunks {
+        int CHUNK_SIZE = 1 << 10; // 4 KiB: passt mit den Daten mehrerer Stages in den L1-Cache
+
+        /** Füllt buffer[0, max) mit bis zu max Elementen (max <= buffer.length) und liefert deren Anzahl */
+        int nextChunk(int[] buffer, int max);
+    }
+
+    /** Quelle, die ihre Elemente selbst in einen Sink schiebt */
+    interface IntSource {
+        /** Schiebt alle Elemente in sink; bei shortCircuit wird vor jedem Element auf Abbruch geprüft */
+        void pushInto(IntSink sink, boolean shortCircuit);
+
+        /** Teilt die Quelle in zwei Hälften oder liefert null, wenn sie sich nicht teilen lässt */
+        default IntSource[] split() { return null; }
+
+        /** Anzahl der Elemente, Long.MAX_VALUE wenn unbekannt */
+        default long size() { return Long.MAX_VALUE; }
+
+        /** Charakteristika der Quelle (SIZED, SORTED, DISTINCT) */
+        default int characteristics() { return 0; }
+
+        /** Ausschnitt [from, to) der Quelle per Indexsprung oder null, wenn die Quelle keinen Indexzugriff hat */
+        default IntSource slice(long from, long to) { return null; }
+
+        /** Die Elemente blockweise (siehe IntChunks) oder null, wenn die Quelle nur schieben kann */
+        default IntChunks chunks() { return null; }
+    }
+
+    /** Teilbare Quelle für die Werte [from, to) */
+    private record RangeSource(int from, int to) implements IntSource {
+        @Override public void pushInto(IntSink sink, boolean shortCircuit) {
+            if (shortCircuit) for (int i = from; i < to && !sink.cancellationRequested(); i++) sink.accept(i);
+            else              for (int i = from; i < to; i++) sink.accept(i);
+        }
+        @Override public IntSource[] split() {
+            if (size() < 2) return null;
+            int mid = (int) (((long) from + to) >>> 1);
+            return new IntSource[] { new RangeSource(from, mid), new RangeSource(mid, to) };
+        }
+        @Override public long size() { return Math.max(0, (long) to - from); }
+        @Override public int characteristics() { return SIZED | SORTED | DISTINCT; }
+        @Override public IntSource slice(long from, long to) {
+            return new RangeSource((int) (this.from + Math.min(from, size())), (int) (this.from + Math.min(to, size())));
+        }
+        @Override public IntChunks chunks() {
+            return new IntChunks() {
+                private int next = from;
+                @Override public int nextChunk(int[] buffer, int max) {
+                    int n = (int) Math.max(0, Math.min(max, (long) to - next));
+                    for (int i = 0; i < n; i++) buffer[i] = next + i;
+                    next += n;
+                    return n;
+                }
+            };
+        }
+    }
+
+    /** Teilbare Quelle für den Array-Ausschnitt values[from, to) */
+    private record ArraySource(int[] values, int from, int to) implements IntSource {
+        @Override public void pushInto(IntSink sink, boolean shortCircuit) {
+            if (shortCircuit) for (int i = from; i < to && !sink.cancellationRequested(); i++) sink.accept(values[i]);
+            else              for (int i = from; i < to; i++) sink.accept(values[i]);
+        }
+        @Override public IntSource[] split() {
+            if (size() < 2) return null;
+            int mid = (from + to) >>> 1;
+            return new IntSource[] { new ArraySource(values, from, mid), new ArraySource(values, mid, to) };
+        }
+        @Override public long size() { return to - from; }
+        @Override public int characteristics() { return SIZED; }
+        @Override public IntSource slice(long from, long to) {
+            return new ArraySource(values, (int) (this.from + Math.min(from, size())), (int) (this.from + Math.min(to, size())));
+        }
+        @Override public IntChunks chunks() {
+            return new IntChunks() {
+                private int next = from;
+                @Override public int nextChunk(int[] buffer, int max) {
+                    int n = Math.min(max, to - next);
+                    System.arraycopy(values, next, buffer, 0, n);
+                    next += n;
+                    return n;
+                }
+            };
+        }
+    }
+
+    /**
+     * Teilbare Quelle für die ints [from, to) einer Datei, gelesen über MappedByteBuffer ohne Kopie in ein Array.
+     * Ein MappedByteBuffer fasst höchstens 2 GB; größere Bereiche werden in Regionen zu REGION_INTS ints
+     * nacheinander eingeblendet. Der FileChannel wird gleich nach dem Einblenden wieder geschlossen.
+     */
+    private record MappedFileSource(Path path, ByteOrder order, long from, long to) implements IntSource {
+        static final long REGION_INTS = 1L << 28; // 1 GB je Region
+
+        /** Blendet die ints [from, from + count) der Datei als IntBuffer ein */
+        IntBuffer map(long from, long count) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, from * Integer.BYTES, count * Integer.BYTES)
+                              .order(order).asIntBuffer();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override public void pushInto(IntSink sink, boolean shortCircuit) {
+            for (long region = from; region < to; region += REGION_INTS) {
+                int count = (int) Math.min(REGION_INTS, to - region);
+                IntBuffer ints = map(region, count);
+                if (shortCircuit) {
+                    for (int i = 0; i < count; i++) {
+                        if (sink.cancellationRequested()) return;
+                        sink.accept(ints.get(i));
+                    }
+                }
+                else for (int i = 0; i < count; i++) sink.accept(ints.get(i));
+            }
+        }
+
+        PrimitiveIterator.OfInt iterator() {
+            return new PrimitiveIterator.OfInt() {
+                private long region = from;
+                private IntBuffer ints = IntBuffer.allocate(0);
+
+                @Override public boolean hasNext() { return ints.hasRemaining() || region < to; }
+                @Override public int nextInt() {
+                    if (!ints.hasRemaining()) {
+                        if (region >= to) throw new NoSuchElementException();
+                        int count = (int) Math.min(REGION_INTS, to - region);
+                        ints = map(region, count);
+                        region += count;
+                    }
+                    return ints.get();
+                }
+            };
+        }
+
+        @Override public IntSource[] split() {
+            if (size() < 2) return null;
+            long mid = (from + to) >>> 1;
+            return new IntSource[] { new MappedFileSource(path, order, from, mid), new MappedFileSource(path, order, mid, to) };
+        }
+        @Override public long size() { return to - from; }
+        @Override public int characteristics() { return SIZED; }
+        @Override public IntSource slice(long from, long to) {
+            return new MappedFileSource(path, order, this.from + Math.min(from, size()), this.from + Math.min(to, size()));
+        }
+    }
+
+    /**
+     * Teilbare Quelle für die ints [from, to) eines MemorySegment (off-heap), in nativer Byte-Reihenfolge.
+     * Indizes sind long, das Segment darf also mehr als Integer.MAX_VALUE ints umfassen.
+     */
+    private record SegmentSource(MemorySegment segment, long from, long to) implements IntSource {
+        @Override public void pushInto(IntSink sink, boolean shortCircuit) {
+            if (shortCircuit) {
+                for (long i = from; i < to && !sink.cancellationRequested(); i++) sink.accept(segment.getAtIndex(INT, i));
+            }
+            else for (long i = from; i < to; i++) sink.accept(segment.getAtIndex(INT, i));
+        }
+        @Override public IntSource[] split() {
+            if (size() < 2) return null;
+            long mid = (from + to) >>> 1;
+            return new IntSource[] { new SegmentSource(segment, from, mid), new SegmentSource(segment, mid, to) };
+        }
+        @Override public long size() { return to - from; }
+        @Override public int characteristics() { return SIZED; }
+        @Override public IntSource slice(long from, long to) {
+            return new SegmentSource(segment, this.from + Math.min(from, size()), this.from + Math.min(to, size()));
+        }
+        @Override public IntChunks chunks() {
+            return new IntChunks() {
+                private long next = from;
+                @Override public int nextChunk(int[] buffer, int max) {
+                    int n = (int) Math.min(max, to - next);
+                    MemorySegment.copy(segment, INT, next * Integer.BYTES, buffer, 0, n);
+                    next += n;
+                    return n;
+                }
+            };
+        }
+    }
+
+    /** Layout der ints in MemorySegments; ohne Ausrichtungspflicht, damit sich jedes Segment lesen lässt */
+    static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED;
+
+    /** Sink einer Intermediate-Stage, der an den nachfolgenden Sink weiterreicht */
+    static abstract class ChainedIntSink implements IntSink {
+        final IntSink downstream;
+        ChainedIntSink(IntSink downstream) { this.downstream = downstream; }
+        @Override public boolean cancellationRequested() { return downstream.cancellationRequested(); }
+        @Override public void end() { downstream.end(); }
+        @Override public void abort() { downstream.abort(); }
+    }
+
+    /**
+     * Wachsender int-Puffer aus Chunks ("Spine"): Ist ein Chunk voll, kommt ein neuer, doppelt so großer
+     * hinzu. Bereits gefüllte Chunks werden beim Wachsen nie umkopiert, sondern erst einmalig in toArray().
+     */
+    static final class SpinedIntBuffer implements IntSink {
+        private static final int FIRST_CHUNK_SIZE = 16;
+        private static final int MAX_CHUNK_SIZE = 1 << 20;
+
+        private int[][] chunks = new int[8][];
+        private int[] fills = new int[8]; // Füllstand der abgeschlossenen Chunks
+        private int chunkCount = 0;
+        private int[] current = new int[0];
+        private int fill = 0;             // Füllstand von current
+        private long count = 0;
+
+        @Override public void accept(int v) {
+            if (fill == current.length) addChunk(new int[Math.min(Math.max(current.length * 2, FIRST_CHUNK_SIZE), MAX_CHUNK_SIZE)], 0);
+            current[fill++] = v;
+            count++;
+        }
+
+        private void addChunk(int[] chunk, int chunkFill) {
+            if (chunkCount > 0) fills[chunkCount - 1] = fill;
+            if (chunkCount == chunks.length) {
+                chunks = Arrays.copyOf(chunks, chunkCount * 2);
+                fills = Arrays.copyOf(fills, chunkCount * 2);
+            }
+            chunks[chunkCount++] = current = chunk;
+            fill = chunkFill;
+        }
+
+        /** Übernimmt die Chunks von other, ohne deren Inhalt zu kopieren (other ist danach nicht mehr zu verwenden) */
+        SpinedIntBuffer appendAll(SpinedIntBuffer other) {
+            if (other.chunkCount > 0) other.fills[other.chunkCount - 1] = other.fill;
+            for (int i = 0; i < other.chunkCount; i++) addChunk(other.chunks[i], other.fills[i]);
+            count += other.count;
+            return this;
+        }
+
+        long size() { return count; }
+
+        /** Die Elemente in der Reihenfolge ihres Eintreffens, ohne sie umzukopieren; erst nach dem Befüllen verwenden */
+        PrimitiveIterator.OfInt iterator() {
+            if (chunkCount > 0) fills[chunkCount - 1] = fill;
+            return new PrimitiveIterator.OfInt() {
+                private int chunk = 0, index = 0;
+                @Override public boolean hasNext() {
+                    while (chunk < chunkCount && index == fills[chunk]) { chunk++; index = 0; }
+                    return chunk < chunkCount;
+                }
+                @Override public int nextInt() {
+                    if (!hasNext()) throw new NoSuchElementException();
+                    return chunks[chunk][index++];
+                }
+            };
+        }
+
+        int[] toArray() {
+            if (count > Integer.MAX_VALUE - 8) throw new OutOfMemoryError("Zu viele Elemente für ein int[]: " + count);
+            if (chunkCount > 0) fills[chunkCount - 1] = fill;
+            int[] result = new int[(int) count];
+            for (int c = 0, pos = 0; c < chunkCount; pos += fills[c++])
+                System.arraycopy(chunks[c], 0, result, pos, fills[c]);
+            return result;
+        }
+    }
+
+    /** Kopf einer push-fähigen Pipeline */
+    static SimpleIntStream head(String name, Supplier<PrimitiveIterator.OfInt> supplier, IntSource source) {
+        return head(name, supplier, source, source.characteristics(), source.size());
+    }
+
+    /** Kopf einer push-fähigen Pipeline, deren Quelle Charakteristika und Größe nicht selbst kennt */
+    static SimpleIntStream head(String name, Supplier<PrimitiveIterator.OfInt> supplier, IntSource source,
+                                int characteristics, long size) {
+        return head(supplier, source, PipelineStage.head(name, characteristics, size));
+    }
+
+    /**
+     * Kopf einer reinen Push-Pipeline (z.B. aus SimpleLongStream), hinter der keine Iterator-Kette steht. Wird sie
+     * doch gezogen, schiebt der Iterator zuerst alle Elemente der Quelle in einen SpinedIntBuffer -- das setzt eine
+     * endliche Quelle voraus. Terminal-Operationen ziehen nicht, solange es eine Push-Quelle gibt.
+     */
+    static SimpleIntStream head(String name, IntSource source, int characteristics, long size) {
+        return head(name, () -> {
+            SpinedIntBuffer buffer = new SpinedIntBuffer();
+            source.pushInto(buffer, false);
+            return buffer.iterator();
+        }, source, characteristics, size);
+    }
+
+    /** Kopf einer push-fähigen Pipeline; pipelineStage liefert Charakteristika, Größe und ggf. den Vorgänger */
+    static SimpleIntStream head(Supplier<PrimitiveIterator.OfInt> supplier, IntSource source, PipelineStage pipelineStage) {
+        if (pipelineStage.isInstrumented()) supplier = meteredIterators(supplier, pipelineStage.metrics);
+        return new SimpleIntStream(supplier, source, Function.identity(), pipelineStage.isInstrumented() ? null : UnaryOperator.identity(),
+                                   pipelineStage.flags, pipelineStage.size, pipelineStage);
+    }
+
+    /**
+     * Hängt eine Stage an: als Iterator (pull) und, falls die Quelle push-fähig ist, als Sink (push).
+     * flags und size beschreiben die Pipeline nach der Stage. Ist die Pipeline instrumentiert, wird die
+     * Stage in beiden Varianten von Messpunkten umschlossen.
+     */
+    private SimpleIntStream chain(String name, Supplier<PrimitiveIterator.OfInt> supplier, UnaryOperator<IntSink> stage,
+                                  int flags, long size) {
+        return chain(name, supplier, stage, null, flags, size);
+    }
+
+    /** Wie oben, zusätzlich mit einer Block-Variante der Stage (siehe IntChunks); null, wenn es keine gibt */
+    private SimpleIntStream chain(String name, Supplier<PrimitiveIterator.OfInt> supplier, UnaryOperator<IntSink> stage,
+                                  UnaryOperator<IntChunks> chunkStage, int flags, long size) {
+        PipelineStage next = pipelineStage.then(name, flags, size);
+        if (next.isInstrumented()) {
+            supplier = meteredIterators(supplier, next.metrics);
+            stage = meteredSinks(stage, next.metrics);
+            chunkStage = null; // gemessen wird nur pro Element
+        }
+        if (source == null) return new SimpleIntStream(supplier, null, null, flags, size, next);
+        return new SimpleIntStream(supplier, source, sinkChain.compose(stage), then(chunkChain, chunkStage), flags, size, next);
+    }
+
+    /** Block-Kette mit stage dahinter; null, wenn chain oder stage fehlt */
+    private static UnaryOperator<IntChunks> then(UnaryOperator<IntChunks> chain, UnaryOperator<IntChunks> stage) {
+        return chain == null || stage == null ? null : chunks -> stage.apply(chain.apply(chunks));
+    }
+
+    /**
+     * Schneidet [from, to) per Indexsprung direkt aus der Quelle, statt Elemente abzuzählen. Das geht nur,
+     * solange alle bisherigen Stages jedes Element 1:1 weiterreichen (SIZED, keine zustandsbehaftete Stage).
+     */
+    private SimpleIntStream slice(String name, Supplier<PrimitiveIterator.OfInt> supplier, long from, long to) {
+        if (source == null || (flags & (SIZED | STATEFUL)) != SIZED) return null;
+        IntSource sliced = source.slice(from, to);
+        if (sliced == null) return null;
+        PipelineStage next = pipelineStage.thenUnmetered(name + " per Indexsprung", flags, sliced.size());
+        if (next.isInstrumented()) supplier = meteredIterators(supplier, next.metrics);
+        return new SimpleIntStream(supplier, sliced, sinkChain, next.isInstrumented() ? null : chunkChain, flags, sliced.size(), next);
+    }
+
+    // ─── Instrumentierung (siehe PipelineStage) ─────────────────────────────
+
+    /** Umschließt die Sinks einer Stage: davor werden die eingehenden, dahinter die ausgehenden Elemente gemessen */
+    private static UnaryOperator<IntSink> meteredSinks(UnaryOperator<IntSink> stage, PipelineStage.Metrics metrics) {
+        return sink -> new MeteredIntSink(stage.apply(new MeteredIntSink(sink, metrics, false)), metrics, true);
+    }
+
+    /** Misst, was durch target fließt: input zählt nach in und nanos, sonst nach out und innerNanos */
+    private static final class MeteredIntSink implements IntSink {
+        private final IntSink target;
+        private final PipelineStage.Metrics metrics;
+        private final boolean input;
+
+        MeteredIntSink(IntSink target, PipelineStage.Metrics metrics, boolean input) {
+            this.target = target; this.metrics = metrics; this.input = input;
+        }
+
+        @Override public void accept(int v) {
+            (input ? metrics.in : metrics.out).increment();
+            long nanos = System.nanoTime(), bytes = PipelineStage.Metrics.allocatedBytes();
+            target.accept(v);
+            record(nanos, bytes);
+        }
+
+        @Override public boolean cancellationRequested() { return target.cancellationRequested(); }
+
+        @Override public void end() {
+            long nanos = System.nanoTime(), bytes = PipelineStage.Metrics.allocatedBytes();
+            target.end();
+            record(nanos, bytes);
+        }
+
+        @Override public void abort() { target.abort(); }
+
+        private void record(long nanos, long bytes) {
+            (input ? metrics.nanos : metrics.innerNanos).add(System.nanoTime() - nanos);
+            (input ? metrics.bytes : metrics.innerBytes).add(PipelineStage.Metrics.allocatedBytes() - bytes);
+        }
+    }
+
+    /** Umschließt den Iterator einer Stage: gemessen wird, was er liefert, samt der Zeit in allen Vorgängern */
+    private static Supplier<PrimitiveIterator.OfInt> meteredIterators(Supplier<PrimitiveIterator.OfInt> supplier,
+                                                                      PipelineStage.Metrics metrics) {
+        return () -> {
+            metrics.pulled = true;
+            PrimitiveIterator.OfInt it = supplier.get();
+            return new PrimitiveIterator.OfInt() {
+                @Override public boolean hasNext() {
+                    long nanos = System.nanoTime(), bytes = PipelineStage.Metrics.allocatedBytes();
+                    boolean hasNext = it.hasNext();
+                    metrics.nanos.add(System.nanoTime() - nanos);
+                    metrics.bytes.add(PipelineStage.Metrics.allocatedBytes() - bytes);
+                    return hasNext;
+                }
+                @Override public int nextInt() {
+                    long nanos = System.nanoTime(), bytes = PipelineStage.Metrics.allocatedBytes();
+                    int v = it.nextInt();
+                    metrics.out.increment();
+                    metrics.nanos.add(System.nanoTime() - nanos);
+                    metrics.bytes.add(PipelineStage.Metrics.allocatedBytes() - bytes);
+                    return v;
+                }
+            };
+        };
+    }
+
+    /**
+     * Instrumented: Alle danach angehängten Stages messen Elemente (in/out), Zeit und Allokationen.
+     * Die Messwerte sammeln sich über alle Auswertungen an und lassen sich mit explain() ausgeben.
+     */
+    public SimpleIntStream instrumented() {
+        if (pipelineStage.isInstrumented()) return this;
+        PipelineStage marked = pipelineStage.instrumented();
+        return new SimpleIntStream(meteredIterators(iteratorSupplier, marked.metrics), source, sinkChain, flags, size, marked);
+    }
+
+    /** Explain: die Stages vom Kopf bis hierher mit Flags, Größe und -- nach instrumented() -- Messwerten */
+    public String explain() {
+        return "SimpleIntStream (" + (source == null ? "pull" : "push") + ((flags & PARALLEL) != 0 ? ", parallel" : "")
+               + ")\n" + pipelineStage.explain();
+    }
+
+    /** Setzt die Pipeline in Gang: push über die Sink-Kette oder, ohne push-fähige Quelle, pull über den Iterator */
+    private <S extends IntSink> S evaluate(S terminal) { return evaluate(terminal, false); }
+
+    <S extends IntSink> S evaluate(S terminal, boolean shortCircuit) {
+        if (source != null) {
+            evaluate(source, terminal, (flags & SHORT_CIRCUIT) != 0 || shortCircuit, shortCircuit);
+            return terminal;
+        }
+        PrimitiveIterator.OfInt it = iteratorSupplier.get();
+        while (!terminal.cancellationRequested() && it.hasNext()) terminal.accept(it.nextInt());
+        terminal.end();
+        return terminal;
+    }
+
+    /**
+     * Schickt die Elemente von source durch die Stages nach terminal: blockweise, wenn Quelle und alle Stages
+     * das können und terminal nicht selbst vorzeitig abbrechen will (stoppable), sonst per Push.
+     */
+    private void evaluate(IntSource source, IntSink terminal, boolean shortCircuit, boolean stoppable) {
+        IntChunks chunks = chunkChain == null || stoppable ? null : source.chunks();
+        if (chunks != null) {
+            chunks = chunkChain.apply(chunks);
+            int[] buffer = new int[IntChunks.CHUNK_SIZE];
+            try {
+                for (int n; (n = chunks.nextChunk(buffer, buffer.length)) > 0; ) terminal.acceptChunk(buffer, n);
+                terminal.end();
+            } catch (RuntimeException | Error e) {
+                terminal.abort(); // wie beim Push; die Block-Stages selbst halten keine Ressourcen
+                throw e;
+            }
+            return;
+        }
+        IntSink sink = sinkChain.apply(terminal);
+        try {
+            source.pushInto(sink, shortCircuit);
+            sink.end();
+        } catch (RuntimeException | Error e) {
+            sink.abort(); // z.B. löscht sorted(spillThreshold) seine ausgelagerten Läufe
+            throw e;
+        }
+    }
+
+    /**
+     * Wertet die Pipeline aus; im parallelen Modus wird eine teilbare Quelle per Fork/Join zerlegt,
+     * jeder Teil läuft durch eine eigene Sink-Kette mit eigenem Terminal-Sink und die Teilergebnisse
+     * werden mit combiner zusammengeführt. Ohne teilbare Quelle oder mit skip/limit: sequentiell.
+     */
+    private <S extends IntSink> S evaluate(Supplier<S> terminal, BinaryOperator<S> combiner) {
+        if ((flags & (PARALLEL | STATEFUL)) != PARALLEL || source == null || source.split() == null)
+            return evaluate(terminal.get());
+        long threshold = Math.max(source.size() / (ForkJoinPool.getCommonPoolParallelism() * 4L), 1);
+        class EvaluationTask extends RecursiveTask<S> {
+            private final IntSource part;
+            EvaluationTask(IntSource part) { this.part = part; }
+            @Override protected S compute() {
+                IntSource[] halves = part.size() > threshold ? part.split() : null;
+                if (halves == null) {
+                    S sink = terminal.get();
+                    evaluate(part, sink, false, false);
+                    return sink;
+                }
+                EvaluationTask left = new EvaluationTask(halves[0]);
+                left.fork();
+                S right = new EvaluationTask(halves[1]).compute();
+                return combiner.apply(left.join(), right);
+            }
+        }
+        return new EvaluationTask(source).invoke();
     }
 
     // ─── Quell-Stage ("Head") ─────────────────────────────────────────────────
 
     /** Erzeugt einen Stream mit den Werten [start, end) */
     public static SimpleIntStream range(int start, int end) {
-        return new SimpleIntStream(() -> new PrimitiveIterator.OfInt() {
+        return head("range(" + start + ", " + end + ")", () -> new PrimitiveIterator.OfInt() {
             private int curr = start;
             @Override public boolean hasNext() { return curr < end; }
             @Override public int nextInt() { return curr++; }
-        });
+        }, new RangeSource(start, end)).fusible(null, start, end);
     }
 
     /** Erzeugt einen Stream mit den Werten [start, end] */
@@ -27,16 +583,54 @@ public class SimpleIntStream {
 
     /** Erzeugt einen Stream aus den angegebenen Werten */
     public static SimpleIntStream of(int... values) {
-        return new SimpleIntStream(() -> new PrimitiveIterator.OfInt() {
+        return head("of(int[" + values.length + "])", () -> new PrimitiveIterator.OfInt() {
             private int index = 0;
             @Override public boolean hasNext() { return index < values.length; }
             @Override public int nextInt() { return values[index++]; }
-        });
+        }, new ArraySource(values, 0, values.length)).fusible(values, 0, values.length);
     }
 
     /** Wandelt einen Iterator in einen Stream */
     public static SimpleIntStream of(PrimitiveIterator.OfInt it) {
-        return new SimpleIntStream(() -> it);
+        return new SimpleIntStream(() -> it, "of(Iterator)");
+    }
+
+    /** Liest die Datei als Folge von ints in Big-Endian-Reihenfolge (wie DataOutputStream sie schreibt) */
+    public static SimpleIntStream ofMappedFile(Path path) {
+        return ofMappedFile(path, ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * Liest die Datei als Folge von ints in der Byte-Reihenfolge order, direkt aus dem eingeblendeten
+     * Speicher (siehe MappedFileSource); auch Dateien über 2 GB. Die Dateilänge muss ein Vielfaches von 4 sein.
+     */
+    public static SimpleIntStream ofMappedFile(Path path, ByteOrder order) {
+        long bytes;
+        try {
+            bytes = Files.size(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (bytes % Integer.BYTES != 0)
+            throw new IllegalArgumentException("Dateilänge ist kein Vielfaches von 4: " + path + " (" + bytes + " Bytes)");
+        MappedFileSource source = new MappedFileSource(path, order, 0, bytes / Integer.BYTES);
+        return head("ofMappedFile(" + path.getFileName() + ")", source::iterator, source);
+    }
+
+    /**
+     * Erzeugt einen Stream aus den ints eines MemorySegment (nativer Byte-Reihenfolge), ohne sie auf den Heap
+     * zu kopieren. Für parallel() muss das Segment aus einer Arena stammen, auf die alle Threads zugreifen
+     * dürfen (z.B. Arena.ofShared()).
+     */
+    public static SimpleIntStream of(MemorySegment segment) {
+        if (segment.byteSize() % Integer.BYTES != 0)
+            throw new IllegalArgumentException("Segmentgröße ist kein Vielfaches von 4: " + segment.byteSize());
+        long count = segment.byteSize() / Integer.BYTES;
+        return head("of(MemorySegment[" + count + "])", () -> new PrimitiveIterator.OfInt() {
+            private long index = 0;
+            @Override public boolean hasNext() { return index < count; }
+            @Override public int nextInt() { return segment.getAtIndex(INT, index++); }
+        }, new SegmentSource(segment, 0, count));
     }
 
     /** Leerer Stream */
@@ -46,7 +640,7 @@ public class SimpleIntStream {
 
     /** Unendlicher Stream: f(seed), f(f(seed)), … */
     public static SimpleIntStream iterate(int seed, IntUnaryOperator f) {
-        return new SimpleIntStream(() -> new PrimitiveIterator.OfInt() {
+        return head("iterate(" + seed + ")", () -> new PrimitiveIterator.OfInt() {
             private int curr = seed;
             private boolean first = true;
             @Override public boolean hasNext() { return true; }
@@ -54,23 +648,323 @@ public class SimpleIntStream {
                 if (first) { first = false; return curr; }
                 return curr = f.applyAsInt(curr);
             }
+        }, (sink, shortCircuit) -> { // unendlich: endet nur durch Abbruch
+            for (int curr = seed; !sink.cancellationRequested(); curr = f.applyAsInt(curr)) sink.accept(curr);
         });
     }
 
     /** Unendlicher Stream: wiederholt Werte aus dem Supplier */
     public static SimpleIntStream generate(IntSupplier supplier) {
-        return new SimpleIntStream(() -> new PrimitiveIterator.OfInt() {
+        return head("generate", () -> new PrimitiveIterator.OfInt() {
             @Override public boolean hasNext() { return true; }
             @Override public int nextInt() { return supplier.getAsInt(); }
+        }, (sink, shortCircuit) -> { // unendlich: endet nur durch Abbruch
+            while (!sink.cancellationRequested()) sink.accept(supplier.getAsInt());
         });
     }
 
+    // ─── Verschmelzbare Pipelines: Vektorisierung und compile() ─────────────
+
+    /** Vektorisierte Auswertung einer Pipeline über values[from, to) bzw. bei values == null über die ints [from, to) */
+    interface VectorKernel {
+        enum Terminal { SUM, COUNT, MIN, MAX }
+
+        VectorResult evaluate(int[] values, int from, int to, List<VectorStep> steps, Terminal terminal);
+    }
+
+    /** Eine Stage der vektorisierbaren Pipeline: entweder map oder filter */
+    record VectorStep(IntExpr map, IntCond filter) {}
+
+    /** Ergebnis der Terminal-Operation (bei COUNT ohne Bedeutung) und Anzahl der verrechneten Elemente */
+    record VectorResult(int value, long count) {}
+
+    /** Die Implementierung braucht das Modul jdk.incubator.vector; ohne es bleibt VECTOR_KERNEL null */
+    static final VectorKernel VECTOR_KERNEL = loadVectorKernel();
+
+    private static VectorKernel loadVectorKernel() {
+        String packageName = SimpleIntStream.class.getPackageName();
+        try {
+            return (VectorKernel) Class.forName(packageName.isEmpty() ? "IntVectorKernels" : packageName + ".IntVectorKernels")
+                                       .getDeclaredConstructor().newInstance();
+        } catch (Exception | LinkageError e) { // auch Übersetzungsfehler, wenn der Quelltext-Launcher die Klasse erst bei Bedarf übersetzt
+            return null;
+        }
+    }
+
+    /** Eine Stage, die compile() mit ihren Nachbarn zu einer Schleife verschmelzen kann */
+    sealed interface FusedStep {
+        record Map(IntUnaryOperator mapper) implements FusedStep {}
+        record Filter(IntPredicate predicate) implements FusedStep {}
+        record Skip(long n) implements FusedStep {}
+        record Limit(long maxSize) implements FusedStep {}
+    }
+
+    private SimpleIntStream fusible(int[] values, int from, int to) {
+        return new FusibleIntStream(this, values, from, to, List.of());
+    }
+
+    /**
+     * Pipeline aus einer Array- oder Range-Quelle, auf die bislang nur map, filter, skip und limit folgten.
+     * compile() übersetzt sie in eine eigene Schleife (siehe IntPipelineCompiler). Sind alle Stages map(IntExpr)
+     * und filter(IntCond), werten sum, count, min und max sie mit dem VectorKernel aus. Jede andere Stage,
+     * parallel() oder instrumented() liefert einen gewöhnlichen SimpleIntStream.
+     */
+    private static final class FusibleIntStream extends SimpleIntStream {
+        private final int[] values; // null bei Range-Quellen
+        private final int from, to;
+        private final List<FusedStep> steps;
+
+        FusibleIntStream(SimpleIntStream scalar, int[] values, int from, int to, List<FusedStep> steps) {
+            super(scalar.iteratorSupplier, scalar.source, scalar.sinkChain, scalar.chunkChain, scalar.flags, scalar.size,
+                  scalar.pipelineStage);
+            this.values = values; this.from = from; this.to = to; this.steps = steps;
+        }
+
+        private FusibleIntStream then(SimpleIntStream scalar, FusedStep step) {
+            List<FusedStep> next = new ArrayList<>(steps);
+            next.add(step);
+            return new FusibleIntStream(scalar, values, from, to, List.copyOf(next));
+        }
+
+        @Override public SimpleIntStream map(IntUnaryOperator mapper) { return then(super.map(mapper), new FusedStep.Map(mapper)); }
+        @Override public SimpleIntStream map(IntExpr expr) { return then(super.map(expr), new FusedStep.Map(expr)); }
+        @Override public SimpleIntStream filter(IntPredicate predicate) { return then(super.filter(predicate), new FusedStep.Filter(predicate)); }
+        @Override public SimpleIntStream filter(IntCond condition) { return then(super.filter(condition), new FusedStep.Filter(condition)); }
+        @Override public SimpleIntStream skip(long n) { return then(super.skip(n), new FusedStep.Skip(n)); }
+        @Override public SimpleIntStream limit(long maxSize) { return then(super.limit(maxSize), new FusedStep.Limit(maxSize)); }
+
+        /**
+         * skip und limit, vor denen nur maps stehen, verschieben die Grenzen der Quelle; die übrigen Stages
+         * bilden die Schleife. Iteratoren (pull) laufen weiter durch die gewöhnliche Pipeline.
+         */
+        @Override public SimpleIntStream compile() {
+            long start = from, end = to;
+            List<FusedStep> fused = new ArrayList<>();
+            boolean oneToOne = true; // bislang nur maps
+            for (FusedStep step : steps) {
+                if (oneToOne && step instanceof FusedStep.Skip(long n)) start += Math.min(n, end - start);
+                else if (oneToOne && step instanceof FusedStep.Limit(long maxSize)) end = start + Math.min(maxSize, end - start);
+                else {
+                    if (step instanceof FusedStep.Filter) oneToOne = false;
+                    fused.add(step);
+                }
+            }
+            CompiledSource compiled = new CompiledSource(IntPipelineCompiler.compile(values != null, fused), values, (int) start, (int) end,
+                                                         fused.stream().noneMatch(step -> step instanceof FusedStep.Skip || step instanceof FusedStep.Limit));
+            return head(super.iteratorSupplier,
+                        compiled, super.pipelineStage.thenUnmetered("compile", super.flags & (SIZED | SORTED | DISTINCT), super.size));
+        }
+
+        /** Die Stages für den VectorKernel oder null, wenn er fehlt oder nicht alle Stages map(IntExpr) bzw. filter(IntCond) sind */
+        private List<VectorStep> vectorSteps() {
+            if (VECTOR_KERNEL == null) return null;
+            List<VectorStep> result = new ArrayList<>();
+            for (FusedStep step : steps) {
+                switch (step) {
+                    case FusedStep.Map(IntExpr expr) -> result.add(new VectorStep(expr, null));
+                    case FusedStep.Filter(IntCond condition) -> result.add(new VectorStep(null, condition));
+                    default -> { return null; }
+                }
+            }
+            return result;
+        }
+
+        private VectorResult evaluate(List<VectorStep> vectorSteps, VectorKernel.Terminal terminal) {
+            return VECTOR_KERNEL.evaluate(values, from, to, vectorSteps, terminal);
+        }
+
+        @Override public int sum() {
+            List<VectorStep> vectorSteps = vectorSteps();
+            return vectorSteps == null ? super.sum() : evaluate(vectorSteps, VectorKernel.Terminal.SUM).value();
+        }
+
+        @Override public int count() {
+            List<VectorStep> vectorSteps = vectorSteps();
+            if (vectorSteps == null || vectorSteps.stream().allMatch(step -> step.filter() == null)) return super.count();
+            return Math.toIntExact(evaluate(vectorSteps, VectorKernel.Terminal.COUNT).count());
+        }
+
+        @Override public OptionalInt min() {
+            List<VectorStep> vectorSteps = vectorSteps();
+            if (vectorSteps == null) return super.min();
+            VectorResult result = evaluate(vectorSteps, VectorKernel.Terminal.MIN);
+            return result.count() == 0 ? OptionalInt.empty() : OptionalInt.of(result.value());
+        }
+
+        @Override public OptionalInt max() {
+            List<VectorStep> vectorSteps = vectorSteps();
+            if (vectorSteps == null) return super.max();
+            VectorResult result = evaluate(vectorSteps, VectorKernel.Terminal.MAX);
+            return result.count() == 0 ? OptionalInt.empty() : OptionalInt.of(result.value());
+        }
+    }
+
+    /** Quelle aus compile(): die erzeugte Schleife über values[from, to) bzw. die ints [from, to); teilbar ohne skip/limit darin */
+    private record CompiledSource(IntPipelineCompiler.Loop loop, int[] values, int from, int to, boolean splittable) implements IntSource {
+        @Override public void pushInto(IntSink sink, boolean shortCircuit) { loop.run(values, from, to, sink, shortCircuit); }
+        @Override public IntSource[] split() {
+            if (!splittable || size() < 2) return null;
+            int mid = (int) (((long) from + to) >>> 1); // bei range sind from und to Werte, auch negative
+            return new IntSource[] { new CompiledSource(loop, values, from, mid, true), new CompiledSource(loop, values, mid, to, true) };
+        }
+        @Override public long size() { return Math.max(0, (long) to - from); }
+    }
+
+    // ─── Zwischenspeicher (siehe cache()) ────────────────────────────────────
+
+    /** Teilbare Quelle über die Elemente [from, to) eines vollständig gefüllten IntCache */
+    private record ChunkSource(int[][] blocks, long from, long to) implements IntSource {
+        @Override public void pushInto(IntSink sink, boolean shortCircuit) {
+            for (long i = from; i < to; ) {
+                int[] chunk = blocks[(int) (i >>> IntCache.CHUNK_BITS)];
+                int start = (int) (i & (IntCache.CHUNK - 1)), end = (int) Math.min(chunk.length, start + (to - i));
+                if (shortCircuit) {
+                    for (int k = start; k < end; k++) {
+                        if (sink.cancellationRequested()) return;
+                        sink.accept(chunk[k]);
+                    }
+                } else for (int k = start; k < end; k++) sink.accept(chunk[k]);
+                i += end - start;
+            }
+        }
+        @Override public IntSource[] split() {
+            if (size() < 2) return null;
+            long mid = (from + to) >>> 1;
+            return new IntSource[] { new ChunkSource(blocks, from, mid), new ChunkSource(blocks, mid, to) };
+        }
+        @Override public long size() { return to - from; }
+        @Override public int characteristics() { return SIZED; }
+        @Override public IntSource slice(long from, long to) {
+            return new ChunkSource(blocks, this.from + Math.min(from, size()), this.from + Math.min(to, size()));
+        }
+        @Override public IntChunks chunks() {
+            return new IntChunks() {
+                private long next = from;
+                @Override public int nextChunk(int[] buffer, int max) {
+                    int start = (int) (next & (IntCache.CHUNK - 1));
+                    int n = (int) Math.min(Math.min(max, IntCache.CHUNK - start), to - next);
+                    if (n > 0) System.arraycopy(blocks[(int) (next >>> IntCache.CHUNK_BITS)], start, buffer, 0, n);
+                    next += n;
+                    return n;
+                }
+            };
+        }
+    }
+
+    /**
+     * Zwischenspeicher hinter cache(): Die erste Auswertung schiebt die Elemente der Pipeline davor hindurch und
+     * legt sie nebenbei in Blöcken zu CHUNK ints ab; jede weitere liest nur noch die Blöcke.
+     *
+     * - Gefüllt wird unter einer Sperre: Starten mehrere Threads gleichzeitig, füllt einer, die anderen warten.
+     * - Bricht die füllende Auswertung vorzeitig ab (z.B. bei findFirst), ist der Speicher unvollständig und
+     *   die nächste Auswertung füllt von vorn.
+     * - Mehr als maxElements Elemente werden nicht gehalten: Der Speicher wird verworfen und die Pipeline davor
+     *   fortan bei jeder Auswertung neu ausgewertet, als gäbe es cache() nicht.
+     * - Iteratoren lesen nur einen vollständigen Speicher, sonst ziehen sie an ihm vorbei von der Pipeline davor.
+     */
+    private static final class IntCache implements IntSource {
+        static final int CHUNK_BITS = 12, CHUNK = 1 << CHUNK_BITS; // 16 KiB je Block
+
+        private final SimpleIntStream upstream;
+        private final long maxElements;
+        private final Lock lock = new ReentrantLock(); // statt synchronized: wartende virtuelle Threads geben ihren Träger frei
+        private int[][] chunks = null;
+        private long count = 0;
+        private volatile boolean complete = false, evicted = false; // chunks und count gelten erst mit complete
+
+        IntCache(SimpleIntStream upstream, long maxElements) {
+            this.upstream = upstream;
+            this.maxElements = maxElements;
+        }
+
+        @Override public void pushInto(IntSink sink, boolean shortCircuit) {
+            if (!complete && !evicted) {
+                lock.lock();
+                try {
+                    if (!complete && !evicted) { fill(sink, shortCircuit); return; }
+                } finally {
+                    lock.unlock();
+                }
+            }
+            if (complete) new ChunkSource(chunks, 0, count).pushInto(sink, shortCircuit);
+            else upstream.evaluate(passOn(sink), shortCircuit);
+        }
+
+        /** Wertet die Pipeline davor aus, reicht die Elemente an sink weiter und hält sie dabei fest */
+        private void fill(IntSink sink, boolean shortCircuit) {
+            chunks = new int[1][];
+            count = 0;
+            upstream.evaluate(new IntSink() {
+                @Override public void accept(int v) {
+                    if (!evicted) record(v);
+                    sink.accept(v);
+                }
+                @Override public boolean cancellationRequested() { return sink.cancellationRequested(); }
+            }, shortCircuit);
+            if (evicted) return;
+            if (sink.cancellationRequested()) { chunks = null; return; } // womöglich nicht alle Elemente gesehen
+            int used = (int) ((count + CHUNK - 1) >>> CHUNK_BITS); // Überhang abschneiden
+            chunks = Arrays.copyOf(chunks, used);
+            if (used > 0) chunks[used - 1] = Arrays.copyOf(chunks[used - 1], (int) (count - ((long) (used - 1) << CHUNK_BITS)));
+            complete = true;
+        }
+
+        private void record(int v) {
+            if (count == maxElements) {
+                chunks = null;
+                evicted = true;
+                return;
+            }
+            int chunk = (int) (count >>> CHUNK_BITS);
+            if (chunk == chunks.length) chunks = Arrays.copyOf(chunks, 2 * chunks.length);
+            if (chunks[chunk] == null) chunks[chunk] = new int[CHUNK];
+            chunks[chunk][(int) (count++ & (CHUNK - 1))] = v;
+        }
+
+        /** sink ohne end(): das ruft die Auswertung des gecachten Stroms selbst auf */
+        private static IntSink passOn(IntSink sink) {
+            return new IntSink() {
+                @Override public void accept(int v) { sink.accept(v); }
+                @Override public boolean cancellationRequested() { return sink.cancellationRequested(); }
+            };
+        }
+
+        PrimitiveIterator.OfInt iterator() {
+            if (!complete) return upstream.iteratorSupplier.get();
+            return new PrimitiveIterator.OfInt() {
+                private long index = 0;
+                @Override public boolean hasNext() { return index < count; }
+                @Override public int nextInt() {
+                    if (index >= count) throw new NoSuchElementException();
+                    long i = index++;
+                    return chunks[(int) (i >>> CHUNK_BITS)][(int) (i & (CHUNK - 1))];
+                }
+            };
+        }
+
+        @Override public IntSource[] split() { return complete ? new ChunkSource(chunks, 0, count).split() : null; }
+        @Override public long size() { return complete ? count : Long.MAX_VALUE; }
+        @Override public IntChunks chunks() { return complete ? new ChunkSource(chunks, 0, count).chunks() : null; }
+        @Override public IntSource slice(long from, long to) { return complete ? new ChunkSource(chunks, 0, count).slice(from, to) : null; }
+    }
+
     // ─── Intermediate-Stages ────────────────────────────────────────────────
 
     /** Filter: behält nur diejenigen ints, für die predicate true ist */
-    public SimpleIntStream filter(IntPredicate predicate) {
-        return new SimpleIntStream(() -> new PrimitiveIterator.OfInt() {
+    public SimpleIntStream filter(IntPredicate predicate) { return filter("filter", predicate); }
+
+    /** Filter mit einer Bedingung aus IntCond; über Array- und Range-Quellen vektorisierbar (siehe FusibleIntStream) */
+    public SimpleIntStream filter(IntCond condition) { return filter("filter(" + condition.describe() + ")", condition); }
+
+    private SimpleIntStream filter(String name, IntPredicate predicate) {
+        return filter(name, () -> predicate, flags & ~SIZED);
+    }
+
+    /** Filter, dessen Prädikat Zustand hat (z.B. distinct): jede Auswertung holt sich ein eigenes aus predicates */
+    private SimpleIntStream filter(String name, Supplier<IntPredicate> predicates, int flags) {
+        return chain(name, () -> new PrimitiveIterator.OfInt() {
             final PrimitiveIterator.OfInt it = iteratorSupplier.get();
+            final IntPredicate predicate = predicates.get();
             private int next;
             private boolean hasNextComputed = false;
 
@@ -98,12 +992,29 @@ public class SimpleIntStream {
                 hasNextComputed = false;
                 return next;
             }
-        });
+        }, sink -> new ChainedIntSink(sink) {
+            final IntPredicate predicate = predicates.get();
+            @Override public void accept(int v) { if (predicate.test(v)) downstream.accept(v); }
+        }, upstream -> {
+            IntPredicate predicate = predicates.get();
+            // fordert nie mehr als max an: jedes geprüfte Element wird gebraucht, auch vor einem limit
+            return (buffer, max) -> {
+                for (int n; (n = upstream.nextChunk(buffer, max)) > 0; ) {
+                    int kept = 0;
+                    for (int i = 0; i < n; i++) {
+                        int v = buffer[i];
+                        if (predicate.test(v)) buffer[kept++] = v;
+                    }
+                    if (kept > 0) return kept;
+                }
+                return 0;
+            };
+        }, flags, size);
     }
 
     /** Skip: überspringt n Elemente */
     public SimpleIntStream skip(long n) {
-        return new SimpleIntStream(() -> new PrimitiveIterator.OfInt() {
+        Supplier<PrimitiveIterator.OfInt> supplier = () -> new PrimitiveIterator.OfInt() {
             final PrimitiveIterator.OfInt it = iteratorSupplier.get();
             private long counter = n;
             private boolean hasSkipped = false;
@@ -119,14 +1030,35 @@ public class SimpleIntStream {
             }
 
             @Override public int nextInt() {
-                return it.next();
+                return it.nextInt();
             }
-        });
+        };
+        SimpleIntStream sliced = slice("skip(" + n + ")", supplier, n, Long.MAX_VALUE);
+        if (sliced != null) return sliced;
+        return chain("skip(" + n + ")", supplier, sink -> new ChainedIntSink(sink) {
+            private long counter = n;
+            @Override public void accept(int v) {
+                if (counter > 0) counter--;
+                else downstream.accept(v);
+            }
+        }, upstream -> new IntChunks() {
+            private long counter = n;
+            @Override public int nextChunk(int[] buffer, int max) {
+                for (int read; (read = upstream.nextChunk(buffer, max)) > 0; ) {
+                    if (counter >= read) { counter -= read; continue; }
+                    int skipped = (int) Math.max(counter, 0);
+                    counter = 0;
+                    System.arraycopy(buffer, skipped, buffer, 0, read - skipped);
+                    return read - skipped;
+                }
+                return 0;
+            }
+        }, flags | STATEFUL, size == Long.MAX_VALUE ? size : Math.max(0, size - n));
     }
 
     /** Limit: behält nur die ersten n Elemente */
     public SimpleIntStream limit(long n) {
-        return new SimpleIntStream(() -> new PrimitiveIterator.OfInt() {
+        Supplier<PrimitiveIterator.OfInt> supplier = () -> new PrimitiveIterator.OfInt() {
             final PrimitiveIterator.OfInt it = iteratorSupplier.get();
             private long counter = 0;
 
@@ -136,26 +1068,319 @@ public class SimpleIntStream {
 
             @Override public int nextInt() {
                 counter++;
-                return it.next();
+                return it.nextInt();
             }
-        });
+        };
+        SimpleIntStream sliced = slice("limit(" + n + ")", supplier, 0, n);
+        if (sliced != null) return sliced;
+        return chain("limit(" + n + ")", supplier, sink -> new ChainedIntSink(sink) {
+            private long counter = n;
+            @Override public void accept(int v) {
+                if (counter > 0) { counter--; downstream.accept(v); }
+            }
+            @Override public boolean cancellationRequested() {
+                return counter <= 0 || downstream.cancellationRequested();
+            }
+        }, upstream -> new IntChunks() {
+            private long counter = n;
+            @Override public int nextChunk(int[] buffer, int max) {
+                if (counter <= 0) return 0;
+                // letzter Block: nur noch counter Elemente anfordern, damit die Stages davor nicht mehr berechnen
+                int read = upstream.nextChunk(buffer, (int) Math.min(max, counter));
+                counter -= read;
+                return read;
+            }
+        }, flags | SHORT_CIRCUIT | STATEFUL, Math.min(size, n));
     }
 
     /** Map: wendet mapper auf jedes Element an */
-    public SimpleIntStream map(IntUnaryOperator mapper) {
-        return new SimpleIntStream(() -> new PrimitiveIterator.OfInt() {
+    public SimpleIntStream map(IntUnaryOperator mapper) { return map("map", mapper); }
+
+    /** Map mit einem Ausdruck aus IntExpr; über Array- und Range-Quellen vektorisierbar (siehe FusibleIntStream) */
+    public SimpleIntStream map(IntExpr expr) { return map("map(" + expr.describe() + ")", expr); }
+
+    private SimpleIntStream map(String name, IntUnaryOperator mapper) {
+        return chain(name, () -> new PrimitiveIterator.OfInt() {
             final PrimitiveIterator.OfInt it = iteratorSupplier.get();
             @Override public boolean hasNext() { return it.hasNext(); }
             @Override public int nextInt()  { return mapper.applyAsInt(it.nextInt()); }
-        });
+        }, sink -> new ChainedIntSink(sink) {
+            @Override public void accept(int v) { downstream.accept(mapper.applyAsInt(v)); }
+        }, upstream -> (buffer, max) -> {
+            int n = upstream.nextChunk(buffer, max);
+            for (int i = 0; i < n; i++) buffer[i] = mapper.applyAsInt(buffer[i]);
+            return n;
+        }, flags & ~(SORTED | DISTINCT), size);
     }
 
     public <T> SimpleStream<T> mapToObj(IntFunction<T> mapper) {
-        return SimpleStream.of(new Iterator<T>() {
+        Supplier<Iterator<T>> supplier = () -> new Iterator<T>() {
             final PrimitiveIterator.OfInt it = iteratorSupplier.get();
             @Override public boolean hasNext() { return it.hasNext(); }
             @Override public T next() { return mapper.apply(it.nextInt()); }
-        });
+        };
+        if (source == null) return SimpleStream.of(supplier.get());
+        // Push über die Typgrenze hinweg: die int-Pipeline schiebt die gemappten Objekte in die Sinks des SimpleStream
+        return SimpleStream.head(supplier, (sink, shortCircuit) -> evaluate(new IntSink() {
+            @Override public void accept(int v) { sink.accept(mapper.apply(v)); }
+            @Override public boolean cancellationRequested() { return sink.cancellationRequested(); }
+        }, shortCircuit), pipelineStage.thenUnmetered("mapToObj", (flags & SIZED) != 0 ? SimpleStream.SIZED : 0, size));
+    }
+
+    /**
+     * MapToObjAsync: wie mapToObj, aber mapper läuft auf virtuellen Threads, höchstens maxConcurrency
+     * gleichzeitig, und die Ergebnisse bleiben in der Reihenfolge der Quelle (siehe SimpleStream.mapAsync).
+     * Das Boxing der ints fällt gegenüber einem auf I/O wartenden mapper nicht ins Gewicht.
+     */
+    public <T> SimpleStream<T> mapToObjAsync(IntFunction<? extends T> mapper, int maxConcurrency) {
+        return mapToObj(Integer::valueOf).mapAsync(mapper::apply, maxConcurrency);
+    }
+
+    /** AsLongStream: wandelt jedes Element in einen long, etwa für überlaufsichere Summen */
+    public SimpleLongStream asLongStream() { return mapToLong(v -> v); }
+
+    public SimpleLongStream mapToLong(IntToLongFunction mapper) {
+        return SimpleLongStream.head((sink, shortCircuit) -> evaluate(new IntSink() {
+            @Override public void accept(int v) { sink.accept(mapper.applyAsLong(v)); }
+            @Override public boolean cancellationRequested() { return sink.cancellationRequested(); }
+        }, shortCircuit), (flags & SIZED) != 0 ? SimpleLongStream.SIZED : 0, size);
+    }
+
+    /** AsDoubleStream: wandelt jedes Element in einen double */
+    public SimpleDoubleStream asDoubleStream() { return mapToDouble(v -> v); }
+
+    public SimpleDoubleStream mapToDouble(IntToDoubleFunction mapper) {
+        return SimpleDoubleStream.head((sink, shortCircuit) -> evaluate(new IntSink() {
+            @Override public void accept(int v) { sink.accept(mapper.applyAsDouble(v)); }
+            @Override public boolean cancellationRequested() { return sink.cancellationRequested(); }
+        }, shortCircuit), (flags & SIZED) != 0 ? SimpleDoubleStream.SIZED : 0, size);
+    }
+
+    /**
+     * Distinct: lässt jeden Wert nur bei seinem ersten Auftreten durch, die Reihenfolge bleibt erhalten.
+     * Die schon gesehenen Werte stehen ohne Boxing in einer IntCounts-Tabelle; ist der Strom sortiert,
+     * genügt der Vergleich mit dem Vorgänger. Läuft stets sequentiell.
+     */
+    public SimpleIntStream distinct() {
+        if ((flags & DISTINCT) != 0) return this;
+        Supplier<IntPredicate> firstOccurrence = (flags & SORTED) != 0 ? () -> new IntPredicate() {
+            private boolean first = true;
+            private int previous;
+            @Override public boolean test(int v) {
+                if (!first && v == previous) return false;
+                first = false;
+                previous = v;
+                return true;
+            }
+        } : () -> new IntCounts()::add;
+        return filter("distinct", firstOccurrence, (flags | STATEFUL | DISTINCT) & ~SIZED);
+    }
+
+    /**
+     * Sorted: sortiert alle Elemente aufsteigend (siehe IntSorting); war parallel() vorher aufgerufen, per
+     * Fork/Join-Mergesort. Die Stage sammelt erst alle Elemente und reicht sie am Ende des Stroms weiter.
+     * Folgt direkt limit(k), werden nur die k kleinsten Elemente in einem Heap gehalten (Top-k).
+     */
+    public SimpleIntStream sorted() {
+        if ((flags & SORTED) != 0) return this;
+        boolean parallel = (flags & PARALLEL) != 0;
+        return new SortedIntStream(chain("sorted", () -> new PrimitiveIterator.OfInt() {
+            private int[] values = null;
+            private int index = 0;
+
+            private int[] values() {
+                if (values == null) {
+                    SpinedIntBuffer buffer = new SpinedIntBuffer();
+                    iteratorSupplier.get().forEachRemaining((IntConsumer) buffer);
+                    values = buffer.toArray();
+                    IntSorting.sort(values, parallel);
+                }
+                return values;
+            }
+
+            @Override public boolean hasNext() { return index < values().length; }
+            @Override public int nextInt() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return values[index++];
+            }
+        }, sink -> new ChainedIntSink(sink) {
+            final SpinedIntBuffer buffer = new SpinedIntBuffer();
+            @Override public void accept(int v) { buffer.accept(v); }
+            @Override public boolean cancellationRequested() { return false; } // alle Elemente werden gebraucht
+            @Override public void end() {
+                int[] values = buffer.toArray();
+                IntSorting.sort(values, parallel);
+                for (int i = 0; i < values.length && !downstream.cancellationRequested(); i++) downstream.accept(values[i]);
+                downstream.end();
+            }
+        }, flags | STATEFUL | SORTED, size), this);
+    }
+
+    /** Ergebnis von sorted(): merkt sich den unsortierten Vorgänger, um sorted().limit(k) als Top-k auszuführen */
+    private static final class SortedIntStream extends SimpleIntStream {
+        static final int MAX_TOP_K = 1 << 20;
+        private final SimpleIntStream unsorted;
+
+        SortedIntStream(SimpleIntStream sorted, SimpleIntStream unsorted) {
+            super(sorted.iteratorSupplier, sorted.source, sorted.sinkChain, sorted.chunkChain, sorted.flags, sorted.size,
+                  sorted.pipelineStage);
+            this.unsorted = unsorted;
+        }
+
+        /** Top-k lohnt sich, solange k deutlich kleiner als die Anzahl der Elemente ist */
+        @Override public SimpleIntStream limit(long n) {
+            if (n < 0 || n > MAX_TOP_K || (unsorted.flags & SIZED) != 0 && n * 8 >= unsorted.size) return super.limit(n);
+            return unsorted.topK((int) n);
+        }
+    }
+
+    /**
+     * Sorted mit begrenztem Speicher: Es liegen höchstens spillThreshold Elemente zugleich im Speicher,
+     * dazu ein gleich großer, wiederverwendeter Hilfspuffer zum Sortieren; größere Eingaben werden in
+     * sortierten Läufen in temporäre Dateien ausgelagert und beim Weiterreichen gemischt (siehe
+     * IntSorting.ExternalSort).
+     */
+    public SimpleIntStream sorted(int spillThreshold) {
+        return sorted(spillThreshold, null);
+    }
+
+    /** Sorted mit begrenztem Speicher; die Läufe landen in directory */
+    public SimpleIntStream sorted(int spillThreshold, Path directory) {
+        if (spillThreshold < 1) throw new IllegalArgumentException("Schwelle muss positiv sein: " + spillThreshold);
+        if ((flags & SORTED) != 0) return this;
+        boolean parallel = (flags & PARALLEL) != 0;
+        return chain("sorted(" + spillThreshold + " im Speicher)", () -> new PrimitiveIterator.OfInt() {
+            // Die Läufe werden gelöscht, wenn der Iterator erschöpft ist oder eine Exception wirft; wer ihn vorher
+            // liegen lässt (Pull-Auswertung mit limit), hinterlässt sie im Verzeichnis für temporäre Dateien
+            private IntSorting.ExternalSort sort = null;
+            private PrimitiveIterator.OfInt merged = null;
+
+            private PrimitiveIterator.OfInt merged() {
+                if (merged == null) {
+                    sort = new IntSorting.ExternalSort(spillThreshold, directory, parallel);
+                    try {
+                        iteratorSupplier.get().forEachRemaining((IntConsumer) sort::add);
+                        merged = sort.iterator();
+                    } catch (RuntimeException | Error e) {
+                        sort.close();
+                        throw e;
+                    }
+                }
+                return merged;
+            }
+
+            @Override public boolean hasNext() {
+                if (merged().hasNext()) return true;
+                sort.close();
+                return false;
+            }
+            @Override public int nextInt() {
+                try {
+                    return merged().nextInt();
+                } catch (RuntimeException | Error e) {
+                    sort.close();
+                    throw e;
+                }
+            }
+        }, sink -> new ChainedIntSink(sink) {
+            final IntSorting.ExternalSort sort = new IntSorting.ExternalSort(spillThreshold, directory, parallel);
+            @Override public void accept(int v) { sort.add(v); }
+            @Override public boolean cancellationRequested() { return false; } // alle Elemente werden gebraucht
+            @Override public void end() {
+                try {
+                    PrimitiveIterator.OfInt merged = sort.iterator();
+                    while (merged.hasNext() && !downstream.cancellationRequested()) downstream.accept(merged.nextInt());
+                } finally {
+                    sort.close();
+                }
+                downstream.end();
+            }
+            @Override public void abort() { // Exception weiter vorne: end() kommt nicht mehr
+                sort.close();
+                downstream.abort();
+            }
+        }, flags | STATEFUL | SORTED, size);
+    }
+
+    /** Top-k: die k kleinsten Elemente aufsteigend, ohne die übrigen zu sortieren */
+    private SimpleIntStream topK(int k) {
+        return chain("sorted().limit(" + k + ") als Top-k", () -> new PrimitiveIterator.OfInt() {
+            private int[] values = null;
+            private int index = 0;
+
+            private int[] values() {
+                if (values == null) {
+                    IntSorting.TopK topK = new IntSorting.TopK(k);
+                    iteratorSupplier.get().forEachRemaining((IntConsumer) topK::add);
+                    values = topK.sorted();
+                }
+                return values;
+            }
+
+            @Override public boolean hasNext() { return index < values().length; }
+            @Override public int nextInt() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return values[index++];
+            }
+        }, sink -> new ChainedIntSink(sink) {
+            final IntSorting.TopK topK = new IntSorting.TopK(k);
+            @Override public void accept(int v) { topK.add(v); }
+            @Override public boolean cancellationRequested() { return false; } // alle Elemente werden gebraucht
+            @Override public void end() {
+                int[] values = topK.sorted();
+                for (int i = 0; i < values.length && !downstream.cancellationRequested(); i++) downstream.accept(values[i]);
+                downstream.end();
+            }
+        }, flags | STATEFUL | SORTED, Math.min(size, k));
+    }
+
+    /** Gather: frei programmierbare Stage mit Zustand (siehe SimpleGatherer), stets sequentiell */
+    public <A> SimpleIntStream gather(SimpleGatherer.OfInt<A> gatherer) {
+        Supplier<A> initializer = gatherer.initializer();
+        SimpleGatherer.IntIntegrator<A> integrator = gatherer.integrator();
+        BiConsumer<A, SimpleGatherer.IntDownstream> finisher = gatherer.finisher();
+        return chain("gather", () -> new PrimitiveIterator.OfInt() {
+            final PrimitiveIterator.OfInt it = iteratorSupplier.get();
+            final A state = initializer.get();
+            // was der Gatherer pro Schritt weiterreicht, wird bis zum Abholen zwischengespeichert
+            private int[] buffer = new int[16];
+            private int head = 0, tail = 0;
+            private boolean rejecting = false, finished = false;
+            final SimpleGatherer.IntDownstream downstream = v -> {
+                if (tail == buffer.length) buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                buffer[tail++] = v;
+                return true;
+            };
+
+            @Override public boolean hasNext() {
+                while (head == tail && !finished) {
+                    head = tail = 0;
+                    if (!rejecting && it.hasNext()) rejecting = !integrator.integrate(state, it.nextInt(), downstream);
+                    else { finisher.accept(state, downstream); finished = true; }
+                }
+                return head < tail;
+            }
+
+            @Override public int nextInt() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return buffer[head++];
+            }
+        }, sink -> new ChainedIntSink(sink) {
+            final A state = initializer.get();
+            private boolean rejecting = false;
+            final SimpleGatherer.IntDownstream pushDownstream = v -> {
+                downstream.accept(v);
+                return !downstream.cancellationRequested();
+            };
+            @Override public void accept(int v) {
+                if (!rejecting) rejecting = !integrator.integrate(state, v, pushDownstream);
+            }
+            @Override public boolean cancellationRequested() { return rejecting || downstream.cancellationRequested(); }
+            @Override public void end() {
+                finisher.accept(state, pushDownstream);
+                downstream.end();
+            }
+        }, (flags | SHORT_CIRCUIT | STATEFUL) & ~(SIZED | SORTED | DISTINCT), Long.MAX_VALUE);
     }
 
     /** Peek: verarbeite jedes Element mit action */
@@ -163,49 +1388,336 @@ public class SimpleIntStream {
         return map(n -> { action.accept(n); return n; });
     }
 
+    /**
+     * Cache: Die erste Terminal-Operation hält die Elemente fest, alle weiteren lesen sie nur noch, statt die
+     * Pipeline davor erneut auszuwerten -- so lässt sich auch ein Strom aus einem Iterator mehrfach auswerten.
+     * Die erste Auswertung läuft sequentiell, die weiteren nach parallel() auch parallel (siehe IntCache).
+     */
+    public SimpleIntStream cache() { return cache("cache", Long.MAX_VALUE); }
+
+    /** Cache für höchstens maxElements Elemente; bei mehr wird der Zwischenspeicher verworfen */
+    public SimpleIntStream cache(long maxElements) {
+        if (maxElements < 0) throw new IllegalArgumentException("maxElements darf nicht negativ sein: " + maxElements);
+        return cache("cache(≤" + maxElements + ")", maxElements);
+    }
+
+    private SimpleIntStream cache(String name, long maxElements) {
+        IntCache cache = new IntCache(this, maxElements);
+        return head(cache::iterator, cache, pipelineStage.thenUnmetered(name, flags & (PARALLEL | SIZED | SORTED | DISTINCT), size));
+    }
+
+    /**
+     * Compile: übersetzt eine Pipeline aus range(...) oder of(int...), auf die nur map, filter, skip und limit
+     * folgen, in eine eigene Klasse mit einer einzigen Schleife (siehe IntPipelineCompiler). Lohnt sich für
+     * tiefe Pipelines, die oft ausgewertet werden; die Klasse wird je Form der Pipeline nur einmal erzeugt.
+     * Andere Pipelines bleiben unverändert. compile() gehört vor parallel().
+     */
+    public SimpleIntStream compile() { return this; }
+
+    /** Parallel: Terminal-Operationen teilen die Quelle auf und verarbeiten die Teile im ForkJoinPool */
+    public SimpleIntStream parallel() {
+        return new SimpleIntStream(iteratorSupplier, source, sinkChain, chunkChain, flags | PARALLEL, size, pipelineStage);
+    }
+
+    /** Sequential: hebt parallel() wieder auf */
+    public SimpleIntStream sequential() {
+        return new SimpleIntStream(iteratorSupplier, source, sinkChain, chunkChain, flags & ~PARALLEL, size, pipelineStage);
+    }
+
+    public boolean isParallel() { return (flags & PARALLEL) != 0; }
+
     // ─── Terminal-Stages ────────────────────────────────────────────────────
 
+    /** ToArray: sammelt alle Elemente; bei bekannter Größe direkt in das passende Array, sonst in einem SpinedIntBuffer */
+    public int[] toArray() {
+        if ((flags & (SIZED | PARALLEL)) == SIZED && size <= Integer.MAX_VALUE - 8) {
+            int[] result = new int[(int) size];
+            evaluate(new IntSink() {
+                int index = 0;
+                @Override public void accept(int v) { result[index++] = v; }
+                @Override public void acceptChunk(int[] buffer, int length) {
+                    System.arraycopy(buffer, 0, result, index, length);
+                    index += length;
+                }
+            });
+            return result;
+        }
+        return evaluate(SpinedIntBuffer::new, SpinedIntBuffer::appendAll).toArray();
+    }
+
+    /** ToSegment: schreibt alle Elemente in ein neues MemorySegment, das der Garbage Collector wieder freigibt */
+    public MemorySegment toSegment() { return intoSegment(Arena.ofAuto()); }
+
+    /**
+     * IntoSegment: schreibt alle Elemente in ein neues MemorySegment aus arena, ohne Zwischenarray auf dem Heap.
+     * Bei bekannter Größe direkt in das passende Segment, sonst erst in wachsende Chunks einer temporären
+     * Arena, die am Ende in ein Segment passender Größe kopiert und freigegeben werden. Stets sequentiell.
+     */
+    public MemorySegment intoSegment(Arena arena) {
+        if ((flags & SIZED) != 0) {
+            MemorySegment result = arena.allocate(size * Integer.BYTES, Integer.BYTES);
+            evaluate(new IntSink() {
+                long index = 0;
+                @Override public void accept(int v) { result.setAtIndex(INT, index++, v); }
+            });
+            return result;
+        }
+        try (Arena chunks = Arena.ofConfined()) {
+            class SegmentSink implements IntSink {
+                final List<MemorySegment> full = new ArrayList<>();
+                MemorySegment chunk = chunks.allocate(SpinedIntBuffer.FIRST_CHUNK_SIZE * Integer.BYTES, Integer.BYTES);
+                long fill = 0, count = 0;
+                @Override public void accept(int v) {
+                    if (fill * Integer.BYTES == chunk.byteSize()) {
+                        full.add(chunk);
+                        chunk = chunks.allocate(Math.min(chunk.byteSize() * 2, SpinedIntBuffer.MAX_CHUNK_SIZE * Integer.BYTES),
+                                                Integer.BYTES);
+                        fill = 0;
+                    }
+                    chunk.setAtIndex(INT, fill++, v);
+                    count++;
+                }
+            }
+            SegmentSink sink = evaluate(new SegmentSink());
+            MemorySegment result = arena.allocate(sink.count * Integer.BYTES, Integer.BYTES);
+            long offset = 0;
+            for (MemorySegment chunk : sink.full) {
+                MemorySegment.copy(chunk, 0, result, offset, chunk.byteSize());
+                offset += chunk.byteSize();
+            }
+            MemorySegment.copy(sink.chunk, 0, result, offset, sink.fill * Integer.BYTES);
+            return result;
+        }
+    }
+
     /** Reduce: kombiniert mit identity beginnend alle Element mit op zu einem einzigen Ergebnis */
     public int reduce(int identity, IntBinaryOperator op) {
-        PrimitiveIterator.OfInt it = iteratorSupplier.get();
-        if (!it.hasNext()) return identity;
-        int result = identity;
-        while (it.hasNext()) {
-            result = op.applyAsInt(result, it.nextInt());
+        class ReducingSink implements IntSink {
+            int result = identity;
+            @Override public void accept(int v) { result = op.applyAsInt(result, v); }
+            @Override public void acceptChunk(int[] buffer, int length) {
+                int r = result;
+                for (int i = 0; i < length; i++) r = op.applyAsInt(r, buffer[i]);
+                result = r;
+            }
         }
-        return result;
+        return evaluate(ReducingSink::new, (a, b) -> { a.result = op.applyAsInt(a.result, b.result); return a; }).result;
     }
 
     /** Reduce: kombiniert alle Elemente mit op zu einem einzigen Ergebnis */
     public OptionalInt reduce(IntBinaryOperator op) {
-        PrimitiveIterator.OfInt it = iteratorSupplier.get();
-        if (!it.hasNext()) return OptionalInt.empty();
-        int result = it.nextInt();
-        while (it.hasNext()) {
-            result = op.applyAsInt(result, it.nextInt());
+        class ReducingSink implements IntSink {
+            boolean empty = true;
+            int result;
+            @Override public void accept(int v) {
+                if (empty) { empty = false; result = v; }
+                else result = op.applyAsInt(result, v);
+            }
+            @Override public void acceptChunk(int[] buffer, int length) {
+                if (length == 0) return;
+                int r = empty ? buffer[0] : op.applyAsInt(result, buffer[0]);
+                for (int i = 1; i < length; i++) r = op.applyAsInt(r, buffer[i]);
+                empty = false;
+                result = r;
+            }
         }
-        return OptionalInt.of(result);
+        ReducingSink sink = evaluate(ReducingSink::new, (a, b) -> { if (!b.empty) a.accept(b.result); return a; });
+        return sink.empty ? OptionalInt.empty() : OptionalInt.of(sink.result);
     }
 
-    /** ForEach: verarbeitet jedes Element mit action */
-    public void forEach(IntConsumer action) { peek(action).reduce((a, b) -> a); }
+    /** ForEach: verarbeitet jedes Element mit action (parallel in beliebiger Reihenfolge) */
+    public void forEach(IntConsumer action) { evaluate(() -> action::accept, (a, b) -> a); }
 
     /** Sum: Addiert alle Elemente */
-    public int sum() { return reduce(0, (a, b) -> a + b); }
+    public int sum() {
+        class SumSink implements IntSink {
+            int sum;
+            @Override public void accept(int v) { sum += v; }
+            @Override public void acceptChunk(int[] buffer, int length) {
+                int s = sum;
+                for (int i = 0; i < length; i++) s += buffer[i];
+                sum = s;
+            }
+        }
+        return evaluate(SumSink::new, (a, b) -> { a.sum += b.sum; return a; }).sum;
+    }
 
     /** Prod: Multipliziert alle Elemente */
     public int prod() { return reduce(1, (a, b) -> a * b); }
 
-    /** Count: Zählt die Anzahl der Elemente */
-    public int count() { return map(n -> 1).sum(); }
+    /**
+     * Count: Zählt die Anzahl der Elemente; bei bekannter Größe (SIZED) ohne Traversierung, also auch ohne peek-Aktionen.
+     * Mehr als Integer.MAX_VALUE Elemente (große Segmente und Dateien) passen nicht in ein int: ArithmeticException
+     */
+    public int count() {
+        if ((flags & SIZED) != 0) return Math.toIntExact(size);
+        class CountSink implements IntSink {
+            long count;
+            @Override public void accept(int v) { count++; }
+            @Override public void acceptChunk(int[] buffer, int length) { count += length; }
+        }
+        return Math.toIntExact(evaluate(CountSink::new, (a, b) -> { a.count += b.count; return a; }).count);
+    }
+
+    /** Min: kleinstes Element */
+    public OptionalInt min() { return reduce(Math::min); }
+
+    /** Max: größtes Element */
+    public OptionalInt max() { return reduce(Math::max); }
 
     /** Average: Mittelwert aller Elemente */
     public OptionalDouble average() {
-        record Pair(int value, int count) {}
-        Pair result = mapToObj(i -> new Pair(i, 1)).
-                      reduce(new Pair(0, 0), (a, b) -> new Pair(a.value + b.value, a.count + 1));
-        if (result.count == 0) { return OptionalDouble.empty(); }
-        return OptionalDouble.of((double) result.value / result.count);
+        IntSummaryStatistics statistics = summaryStatistics();
+        if (statistics.getCount() == 0) { return OptionalDouble.empty(); }
+        return OptionalDouble.of(statistics.getAverage());
+    }
+
+    /** SummaryStatistics: count, sum (als long), min, max und average in einem Durchlauf, ohne Boxing */
+    public IntSummaryStatistics summaryStatistics() {
+        class StatisticsSink implements IntSink {
+            final IntSummaryStatistics statistics = new IntSummaryStatistics();
+            @Override public void accept(int v) { statistics.accept(v); }
+        }
+        return evaluate(StatisticsSink::new, (a, b) -> { a.statistics.combine(b.statistics); return a; }).statistics;
+    }
+
+    /** CountByValue: wie oft jeder Wert vorkommt, ohne Boxing (siehe IntCounts) */
+    public IntCounts countByValue() { return groupingBy(v -> v); }
+
+    /** GroupingBy: wie viele Elemente auf jeden Schlüssel classifier(v) entfallen; parallel mit einer Tabelle je Teil */
+    public IntCounts groupingBy(IntUnaryOperator classifier) {
+        class CountingSink implements IntSink {
+            final IntCounts counts = new IntCounts();
+            @Override public void accept(int v) { counts.add(classifier.applyAsInt(v)); }
+        }
+        return evaluate(CountingSink::new, (a, b) -> {
+            if (a.counts.size() < b.counts.size()) { b.counts.addAll(a.counts); return b; } // die kleinere einsortieren
+            a.counts.addAll(b.counts);
+            return a;
+        }).counts;
+    }
+
+    /** Collect: sammelt alle Elemente mit collector (parallel: ein Behälter je Teil, danach zusammengeführt) */
+    public <A, R> R collect(SimpleIntCollector<A, R> collector) {
+        Supplier<A> supplier = collector.supplier();
+        ObjIntConsumer<A> accumulator = collector.accumulator();
+        BinaryOperator<A> combiner = collector.combiner();
+        class CollectingSink implements IntSink {
+            A container = supplier.get();
+            @Override public void accept(int v) { accumulator.accept(container, v); }
+        }
+        A container = evaluate(CollectingSink::new, (a, b) -> { a.container = combiner.apply(a.container, b.container); return a; }).container;
+        return collector.finisher().apply(container);
+    }
+
+    /**
+     * FanOut: die Ergebnisse aller collectors aus einem einzigen Durchlauf, in derselben Reihenfolge -- etwa Summe,
+     * Minimum und Histogramm, ohne die Pipeline für jedes Ergebnis neu auszuwerten. Geht auch bei Iterator-Quellen,
+     * die sich nur einmal auswerten lassen.
+     */
+    public List<Object> fanOut(SimpleIntCollector<?, ?>... collectors) {
+        return collect(SimpleIntCollectors.fanOut(collectors));
+    }
+
+    /**
+     * FanOutAsync: wie fanOut, aber jeder Collector läuft auf einem eigenen virtuellen Thread. Die (sequentielle)
+     * Auswertung reicht die Elemente in Blöcken weiter; jeder Collector puffert höchstens bufferSize Elemente,
+     * ein langsamer Collector bremst also die Auswertung, statt Speicher anzuhäufen. Lohnt sich, wenn die
+     * Collectoren selbst teuer sind.
+     */
+    public List<Object> fanOutAsync(int bufferSize, SimpleIntCollector<?, ?>... collectors) {
+        if (bufferSize < 1) throw new IllegalArgumentException("bufferSize < 1: " + bufferSize);
+        int chunkSize = Math.min(bufferSize, IntChunks.CHUNK_SIZE);
+        List<AsyncBranch<?, ?>> branches = new ArrayList<>();
+        for (SimpleIntCollector<?, ?> collector : collectors) branches.add(new AsyncBranch<>(collector, bufferSize / chunkSize));
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (AsyncBranch<?, ?> branch : branches) futures.add(executor.submit(branch));
+            evaluate(new IntSink() {
+                int[] chunk = new int[chunkSize];
+                int length = 0;
+
+                @Override public void accept(int v) {
+                    chunk[length++] = v;
+                    if (length == chunkSize) handOff();
+                }
+                @Override public void acceptChunk(int[] buffer, int count) {
+                    for (int offset = 0; offset < count; ) {
+                        int n = Math.min(count - offset, chunkSize - length);
+                        System.arraycopy(buffer, offset, chunk, length, n);
+                        offset += n;
+                        length += n;
+                        if (length == chunkSize) handOff();
+                    }
+                }
+                private void handOff() { // die Collectoren lesen den Block nur, alle bekommen dasselbe Array
+                    int[] block = length == chunkSize ? chunk : Arrays.copyOf(chunk, length);
+                    for (AsyncBranch<?, ?> branch : branches) branch.put(block);
+                    chunk = new int[chunkSize];
+                    length = 0;
+                }
+                @Override public void end() {
+                    if (length > 0) handOff();
+                    for (AsyncBranch<?, ?> branch : branches) branch.put(AsyncBranch.END);
+                }
+            });
+            List<Object> results = new ArrayList<>();
+            for (Future<?> future : futures) results.add(AsyncBranch.result(future));
+            return Collections.unmodifiableList(results);
+        } finally {
+            executor.shutdownNow(); // bricht die Collectoren ab, falls die Auswertung mit einer Exception endet
+        }
+    }
+
+    /** Ein Collector von fanOutAsync: nimmt die Blöcke aus einer beschränkten Queue, bis END kommt */
+    private static final class AsyncBranch<A, R> implements Callable<R> {
+        static final int[] END = new int[0];
+
+        private final SimpleIntCollector<A, R> collector;
+        private final BlockingQueue<int[]> queue;
+
+        AsyncBranch(SimpleIntCollector<A, R> collector, int capacity) {
+            this.collector = collector;
+            this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        }
+
+        /** Wartet, solange die Queue voll ist */
+        void put(int[] chunk) {
+            try {
+                queue.put(chunk);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("fanOutAsync unterbrochen");
+            }
+        }
+
+        @Override public R call() throws InterruptedException {
+            A container;
+            try { // auch supplier und accumulator können werfen
+                container = collector.supplier().get();
+                ObjIntConsumer<A> accumulator = collector.accumulator();
+                for (int[] chunk; (chunk = queue.take()) != END; ) for (int v : chunk) accumulator.accept(container, v);
+            } catch (RuntimeException | Error e) {
+                while (queue.take() != END) {} // weiter abnehmen, sonst wartet die Auswertung vergeblich
+                throw e;
+            }
+            return collector.finisher().apply(container);
+        }
+
+        /** Ergebnis eines Collectors; seine Exception wird unverändert weitergeworfen */
+        static Object result(Future<?> future) {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("fanOutAsync unterbrochen");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) throw cause;
+                if (e.getCause() instanceof Error cause) throw cause;
+                throw new CompletionException(e.getCause());
+            }
+        }
     }
 
     // FindFirst: Liefere erstes Element im Stream aus */
@@ -0,0 +1,386 @@
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ * Nachbau von `java.util.stream.LongStream` als Geschwister von `SimpleIntStream`.
+ *
+ * Der Aufbau entspricht der Push-Variante von `SimpleIntStream`: Die Quelle schiebt ihre Elemente
+ * durch die Sink-Kette aller Stages. Auf die parallel geführte Iterator-Kette wird hier verzichtet;
+ * eine Iterator-Quelle (`of(PrimitiveIterator.OfLong)`) wird stattdessen von ihrer Quelle durchgezogen.
+ */
+public class SimpleLongStream {
+    private final LongSource source;
+    private final Function<LongSink, LongSink> sinkChain;
+    private final int flags; // Eigenschaften der Pipeline, siehe Konstanten
+    private final long size; // exakte Anzahl der Elemente bei SIZED, sonst obere Schranke; Long.MAX_VALUE: unbekannt
+
+    // Pipeline-Flags
+    static final int SHORT_CIRCUIT = 1; // eine Stage (z.B. limit) kann vorzeitig abbrechen
+    static final int STATEFUL      = 2; // eine Stage hängt von der Reihenfolge ab (skip, limit) -> nur sequentiell
+    static final int PARALLEL      = 4; // parallel() wurde aufgerufen
+    // Charakteristika der Elemente, die Stages erhalten oder löschen
+    static final int SIZED         = 8;  // die Anzahl der Elemente ist exakt bekannt
+    static final int SORTED        = 16; // aufsteigend sortiert
+    static final int DISTINCT      = 32; // keine Duplikate
+
+    private SimpleLongStream(LongSource source, Function<LongSink, LongSink> sinkChain, int flags, long size) {
+        this.source = source;
+        this.sinkChain = sinkChain;
+        this.flags = flags;
+        this.size = size;
+    }
+
+    // ─── Push-Infrastruktur ─────────────────────────────────────────────────
+
+    /** Sink: nimmt die Elemente der Vorgänger-Stufe entgegen */
+    interface LongSink extends LongConsumer {
+        /** true, wenn keine weiteren Elemente mehr benötigt werden (z.B. nach limit) */
+        default boolean cancellationRequested() { return false; }
+    }
+
+    /** Quelle, die ihre Elemente selbst in einen Sink schiebt */
+    interface LongSource {
+        /** Schiebt alle Elemente in sink; bei shortCircuit wird vor jedem Element auf Abbruch geprüft */
+        void pushInto(LongSink sink, boolean shortCircuit);
+
+        /** Teilt die Quelle in zwei Hälften oder liefert null, wenn sie sich nicht teilen lässt */
+        default LongSource[] split() { return null; }
+
+        /** Anzahl der Elemente, Long.MAX_VALUE wenn unbekannt */
+        default long size() { return Long.MAX_VALUE; }
+
+        /** Charakteristika der Quelle (SIZED, SORTED, DISTINCT) */
+        default int characteristics() { return 0; }
+
+        /** Ausschnitt [from, to) der Quelle per Indexsprung oder null, wenn die Quelle keinen Indexzugriff hat */
+        default LongSource slice(long from, long to) { return null; }
+    }
+
+    /** Teilbare Quelle für die Werte [from, to) */
+    private record RangeSource(long from, long to) implements LongSource {
+        @Override public void pushInto(LongSink sink, boolean shortCircuit) {
+            if (shortCircuit) for (long i = from; i < to && !sink.cancellationRequested(); i++) sink.accept(i);
+            else              for (long i = from; i < to; i++) sink.accept(i);
+        }
+        @Override public LongSource[] split() {
+            if (size() < 2) return null;
+            long mid = from + size() / 2;
+            return new LongSource[] { new RangeSource(from, mid), new RangeSource(mid, to) };
+        }
+        @Override public long size() { // bei mehr als Long.MAX_VALUE Elementen gilt die Größe als unbekannt
+            long size = to - from;
+            return to <= from ? 0 : size < 0 ? Long.MAX_VALUE : size;
+        }
+        @Override public int characteristics() { return size() == Long.MAX_VALUE ? SORTED | DISTINCT : SIZED | SORTED | DISTINCT; }
+        @Override public LongSource slice(long from, long to) {
+            return new RangeSource(this.from + Math.min(from, size()), this.from + Math.min(to, size()));
+        }
+    }
+
+    /** Teilbare Quelle für die Werte [from, Long.MAX_VALUE]; halboffen bräuchte sie die Obergrenze Long.MAX_VALUE + 1 */
+    private record RangeToMaxSource(long from) implements LongSource {
+        @Override public void pushInto(LongSink sink, boolean shortCircuit) {
+            new RangeSource(from, Long.MAX_VALUE).pushInto(sink, shortCircuit);
+            if (!shortCircuit || !sink.cancellationRequested()) sink.accept(Long.MAX_VALUE);
+        }
+        @Override public LongSource[] split() {
+            if (size() < 2 || size() == Long.MAX_VALUE) return null;
+            long mid = from + size() / 2;
+            return new LongSource[] { new RangeSource(from, mid), new RangeToMaxSource(mid) };
+        }
+        @Override public long size() { // wie bei RangeSource: mehr als Long.MAX_VALUE Elemente gelten als unbekannt
+            long below = Long.MAX_VALUE - from;
+            return below < 0 || below == Long.MAX_VALUE ? Long.MAX_VALUE : below + 1;
+        }
+        @Override public int characteristics() { return size() == Long.MAX_VALUE ? SORTED | DISTINCT : SIZED | SORTED | DISTINCT; }
+        @Override public LongSource slice(long from, long to) {
+            long size = size();
+            if (size == Long.MAX_VALUE) return null;
+            if (to < size) return new RangeSource(this.from + Math.min(from, to), this.from + to);
+            return from < size ? new RangeToMaxSource(this.from + from) : new RangeSource(0, 0);
+        }
+    }
+
+    /** Teilbare Quelle für den Array-Ausschnitt values[from, to) */
+    private record ArraySource(long[] values, int from, int to) implements LongSource {
+        @Override public void pushInto(LongSink sink, boolean shortCircuit) {
+            if (shortCircuit) for (int i = from; i < to && !sink.cancellationRequested(); i++) sink.accept(values[i]);
+            else              for (int i = from; i < to; i++) sink.accept(values[i]);
+        }
+        @Override public LongSource[] split() {
+            if (size() < 2) return null;
+            int mid = (from + to) >>> 1;
+            return new LongSource[] { new ArraySource(values, from, mid), new ArraySource(values, mid, to) };
+        }
+        @Override public long size() { return to - from; }
+        @Override public int characteristics() { return SIZED; }
+        @Override public LongSource slice(long from, long to) {
+            return new ArraySource(values, (int) (this.from + Math.min(from, size())), (int) (this.from + Math.min(to, size())));
+        }
+    }
+
+    /** Sink einer Intermediate-Stage, der an den nachfolgenden Sink weiterreicht */
+    static abstract class ChainedLongSink implements LongSink {
+        final LongSink downstream;
+        ChainedLongSink(LongSink downstream) { this.downstream = downstream; }
+        @Override public boolean cancellationRequested() { return downstream.cancellationRequested(); }
+    }
+
+    /** Kopf einer Pipeline */
+    static SimpleLongStream head(LongSource source) {
+        return head(source, source.characteristics(), source.size());
+    }
+
+    /** Kopf einer Pipeline, deren Quelle Charakteristika und Größe nicht selbst kennt */
+    static SimpleLongStream head(LongSource source, int characteristics, long size) {
+        return new SimpleLongStream(source, Function.identity(), characteristics, size);
+    }
+
+    /** Hängt eine Stage an; flags und size beschreiben die Pipeline nach der Stage */
+    private SimpleLongStream chain(UnaryOperator<LongSink> stage, int flags, long size) {
+        return new SimpleLongStream(source, sinkChain.compose(stage), flags, size);
+    }
+
+    /** Schneidet [from, to) per Indexsprung aus der Quelle, solange alle Stages 1:1 weiterreichen */
+    private SimpleLongStream slice(long from, long to) {
+        if ((flags & (SIZED | STATEFUL)) != SIZED) return null;
+        LongSource sliced = source.slice(from, to);
+        if (sliced == null) return null;
+        return new SimpleLongStream(sliced, sinkChain, flags, sliced.size());
+    }
+
+    /** Setzt die Pipeline in Gang */
+    private <S extends LongSink> S evaluate(S terminal) { return evaluate(terminal, false); }
+
+    <S extends LongSink> S evaluate(S terminal, boolean shortCircuit) {
+        source.pushInto(sinkChain.apply(terminal), (flags & SHORT_CIRCUIT) != 0 || shortCircuit);
+        return terminal;
+    }
+
+    /** Wertet die Pipeline aus; im parallelen Modus per Fork/Join über die geteilte Quelle (siehe SimpleIntStream) */
+    private <S extends LongSink> S evaluate(Supplier<S> terminal, BinaryOperator<S> combiner) {
+        if ((flags & (PARALLEL | STATEFUL)) != PARALLEL || source.split() == null)
+            return evaluate(terminal.get());
+        long threshold = Math.max(source.size() / (ForkJoinPool.getCommonPoolParallelism() * 4L), 1);
+        class EvaluationTask extends RecursiveTask<S> {
+            private final LongSource part;
+            EvaluationTask(LongSource part) { this.part = part; }
+            @Override protected S compute() {
+                LongSource[] halves = part.size() > threshold ? part.split() : null;
+                if (halves == null) {
+                    S sink = terminal.get();
+                    part.pushInto(sinkChain.apply(sink), false);
+                    return sink;
+                }
+                EvaluationTask left = new EvaluationTask(halves[0]);
+                left.fork();
+                S right = new EvaluationTask(halves[1]).compute();
+                return combiner.apply(left.join(), right);
+            }
+        }
+        return new EvaluationTask(source).invoke();
+    }
+
+    // ─── Quell-Stage ("Head") ─────────────────────────────────────────────────
+
+    /** Erzeugt einen Stream mit den Werten [start, end) */
+    public static SimpleLongStream range(long start, long end) {
+        return head(new RangeSource(start, end));
+    }
+
+    /** Erzeugt einen Stream mit den Werten [start, end] */
+    public static SimpleLongStream rangeClosed(long start, long end) {
+        if (end == Long.MAX_VALUE) return head(new RangeToMaxSource(start)); // end + 1 liefe über
+        return range(start, end + 1);
+    }
+
+    /** Erzeugt einen Stream aus den angegebenen Werten */
+    public static SimpleLongStream of(long... values) {
+        return head(new ArraySource(values, 0, values.length));
+    }
+
+    /** Wandelt einen Iterator in einen Stream */
+    public static SimpleLongStream of(PrimitiveIterator.OfLong it) {
+        return head((sink, shortCircuit) -> {
+            while (!sink.cancellationRequested() && it.hasNext()) sink.accept(it.nextLong());
+        });
+    }
+
+    /** Leerer Stream */
+    public static SimpleLongStream empty() {
+        return of();
+    }
+
+    /** Unendlicher Stream: f(seed), f(f(seed)), … */
+    public static SimpleLongStream iterate(long seed, LongUnaryOperator f) {
+        return head((sink, shortCircuit) -> { // unendlich: endet nur durch Abbruch
+            for (long curr = seed; !sink.cancellationRequested(); curr = f.applyAsLong(curr)) sink.accept(curr);
+        });
+    }
+
+    /** Unendlicher Stream: wiederholt Werte aus dem Supplier */
+    public static SimpleLongStream generate(LongSupplier supplier) {
+        return head((sink, shortCircuit) -> { // unendlich: endet nur durch Abbruch
+            while (!sink.cancellationRequested()) sink.accept(supplier.getAsLong());
+        });
+    }
+
+    // ─── Intermediate-Stages ────────────────────────────────────────────────
+
+    /** Filter: behält nur diejenigen longs, für die predicate true ist */
+    public SimpleLongStream filter(LongPredicate predicate) {
+        return chain(sink -> new ChainedLongSink(sink) {
+            @Override public void accept(long v) { if (predicate.test(v)) downstream.accept(v); }
+        }, flags & ~SIZED, size);
+    }
+
+    /** Skip: überspringt n Elemente */
+    public SimpleLongStream skip(long n) {
+        SimpleLongStream sliced = slice(n, Long.MAX_VALUE);
+        if (sliced != null) return sliced;
+        return chain(sink -> new ChainedLongSink(sink) {
+            private long counter = n;
+            @Override public void accept(long v) {
+                if (counter > 0) counter--;
+                else downstream.accept(v);
+            }
+        }, flags | STATEFUL, size == Long.MAX_VALUE ? size : Math.max(0, size - n));
+    }
+
+    /** Limit: behält nur die ersten n Elemente */
+    public SimpleLongStream limit(long n) {
+        SimpleLongStream sliced = slice(0, n);
+        if (sliced != null) return sliced;
+        return chain(sink -> new ChainedLongSink(sink) {
+            private long counter = n;
+            @Override public void accept(long v) {
+                if (counter > 0) { counter--; downstream.accept(v); }
+            }
+            @Override public boolean cancellationRequested() {
+                return counter <= 0 || downstream.cancellationRequested();
+            }
+        }, flags | SHORT_CIRCUIT | STATEFUL, Math.min(size, n));
+    }
+
+    /** Map: wendet mapper auf jedes Element an */
+    public SimpleLongStream map(LongUnaryOperator mapper) {
+        return chain(sink -> new ChainedLongSink(sink) {
+            @Override public void accept(long v) { downstream.accept(mapper.applyAsLong(v)); }
+        }, flags & ~(SORTED | DISTINCT), size);
+    }
+
+    public <T> SimpleStream<T> mapToObj(LongFunction<T> mapper) {
+        return SimpleStream.head("SimpleLongStream.mapToObj", (sink, shortCircuit) -> evaluate(new LongSink() {
+            @Override public void accept(long v) { sink.accept(mapper.apply(v)); }
+            @Override public boolean cancellationRequested() { return sink.cancellationRequested(); }
+        }, shortCircuit), (flags & SIZED) != 0 ? SimpleStream.SIZED : 0, size);
+    }
+
+    public SimpleIntStream mapToInt(LongToIntFunction mapper) {
+        return SimpleIntStream.head("SimpleLongStream.mapToInt", (sink, shortCircuit) -> evaluate(new LongSink() {
+            @Override public void accept(long v) { sink.accept(mapper.applyAsInt(v)); }
+            @Override public boolean cancellationRequested() { return sink.cancellationRequested(); }
+        }, shortCircuit), (flags & SIZED) != 0 ? SimpleIntStream.SIZED : 0, size);
+    }
+
+    /** AsDoubleStream: wandelt jedes Element in einen double */
+    public SimpleDoubleStream asDoubleStream() { return mapToDouble(v -> v); }
+
+    public SimpleDoubleStream mapToDouble(LongToDoubleFunction mapper) {
+        return SimpleDoubleStream.head((sink, shortCircuit) -> evaluate(new LongSink() {
+            @Override public void accept(long v) { sink.accept(mapper.applyAsDouble(v)); }
+            @Override public boolean cancellationRequested() { return sink.cancellationRequested(); }
+        }, shortCircuit), (flags & SIZED) != 0 ? SimpleDoubleStream.SIZED : 0, size);
+    }
+
+    /** Peek: verarbeite jedes Element mit action */
+    public SimpleLongStream peek(LongConsumer action) {
+        return map(n -> { action.accept(n); return n; });
+    }
+
+    /** Parallel: Terminal-Operationen teilen die Quelle auf und verarbeiten die Teile im ForkJoinPool */
+    public SimpleLongStream parallel() {
+        return new SimpleLongStream(source, sinkChain, flags | PARALLEL, size);
+    }
+
+    /** Sequential: hebt parallel() wieder auf */
+    public SimpleLongStream sequential() {
+        return new SimpleLongStream(source, sinkChain, flags & ~PARALLEL, size);
+    }
+
+    public boolean isParallel() { return (flags & PARALLEL) != 0; }
+
+    // ─── Terminal-Stages ────────────────────────────────────────────────────
+
+    /** Reduce: kombiniert mit identity beginnend alle Element mit op zu einem einzigen Ergebnis */
+    public long reduce(long identity, LongBinaryOperator op) {
+        class ReducingSink implements LongSink {
+            long result = identity;
+            @Override public void accept(long v) { result = op.applyAsLong(result, v); }
+        }
+        return evaluate(ReducingSink::new, (a, b) -> { a.result = op.applyAsLong(a.result, b.result); return a; }).result;
+    }
+
+    /** Reduce: kombiniert alle Elemente mit op zu einem einzigen Ergebnis */
+    public OptionalLong reduce(LongBinaryOperator op) {
+        class ReducingSink implements LongSink {
+            boolean empty = true;
+            long result;
+            @Override public void accept(long v) {
+                if (empty) { empty = false; result = v; }
+                else result = op.applyAsLong(result, v);
+            }
+        }
+        ReducingSink sink = evaluate(ReducingSink::new, (a, b) -> { if (!b.empty) a.accept(b.result); return a; });
+        return sink.empty ? OptionalLong.empty() : OptionalLong.of(sink.result);
+    }
+
+    /** ForEach: verarbeitet jedes Element mit action (parallel in beliebiger Reihenfolge) */
+    public void forEach(LongConsumer action) { evaluate(() -> action::accept, (a, b) -> a); }
+
+    /** Sum: Addiert alle Elemente */
+    public long sum() {
+        class SumSink implements LongSink {
+            long sum;
+            @Override public void accept(long v) { sum += v; }
+        }
+        return evaluate(SumSink::new, (a, b) -> { a.sum += b.sum; return a; }).sum;
+    }
+
+    /** Count: Zählt die Anzahl der Elemente; bei bekannter Größe (SIZED) ohne Traversierung */
+    public long count() {
+        if ((flags & SIZED) != 0) return size;
+        class CountSink implements LongSink {
+            long count;
+            @Override public void accept(long v) { count++; }
+        }
+        return evaluate(CountSink::new, (a, b) -> { a.count += b.count; return a; }).count;
+    }
+
+    /** Min: kleinstes Element */
+    public OptionalLong min() { return reduce(Math::min); }
+
+    /** Max: größtes Element */
+    public OptionalLong max() { return reduce(Math::max); }
+
+    /** Average: Mittelwert aller Elemente */
+    public OptionalDouble average() {
+        LongSummaryStatistics statistics = summaryStatistics();
+        if (statistics.getCount() == 0) { return OptionalDouble.empty(); }
+        return OptionalDouble.of(statistics.getAverage());
+    }
+
+    /** SummaryStatistics: count, sum, min, max und average in einem Durchlauf, ohne Boxing */
+    public LongSummaryStatistics summaryStatistics() {
+        class StatisticsSink implements LongSink {
+            final LongSummaryStatistics statistics = new LongSummaryStatistics();
+            @Override public void accept(long v) { statistics.accept(v); }
+        }
+        return evaluate(StatisticsSink::new, (a, b) -> { a.statistics.combine(b.statistics); return a; }).statistics;
+    }
+
+    // FindFirst: Liefere erstes Element im Stream aus */
+    public OptionalLong findFirst() { return limit(1).reduce((a, b) -> a); }
+
+}
@@ -1,28 +1,431 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.*;
 import java.util.function.*;
 
 public class SimpleStream<T> {
     // Ein Supplier liefert bei Bedarf einen frischen Iterator über die Basis-Daten + alle verketteten Stages
     private final Supplier<Iterator<T>> iteratorSupplier;
+    // Push-Variante derselben Pipeline: die Quelle schiebt ihre Elemente durch die Sink-Kette aller Stages.
+    // source == null bei Iterator-Quellen -- dann ziehen die Terminal-Operationen über iteratorSupplier (Fallback)
+    private final Source<?> source;
+    private final Function<Sink<T>, ? extends Sink<?>> sinkChain; // Sink dieser Stage -> Sink für die Quelle
+    private final int flags; // Eigenschaften der Pipeline, siehe Konstanten
+    private final long size; // exakte Anzahl der Elemente bei SIZED, sonst obere Schranke; Long.MAX_VALUE: unbekannt
+    private final PipelineStage pipelineStage; // Name und Vorgänger dieser Stage für explain(), ggf. mit Metriken
 
-    private SimpleStream(Supplier<Iterator<T>> supplier) {
+    // Pipeline-Flags
+    static final int SHORT_CIRCUIT = 1; // eine Stage (z.B. limit) kann vorzeitig abbrechen
+    static final int STATEFUL      = 2; // eine Stage hängt von der Reihenfolge ab (skip, limit) -> nur sequentiell
+    static final int PARALLEL      = 4; // parallel() wurde aufgerufen
+    static final int SIZED         = 8; // die Anzahl der Elemente ist exakt bekannt
+
+    private SimpleStream(Supplier<Iterator<T>> supplier, String name) {
+        this(supplier, null, null, 0, Long.MAX_VALUE, PipelineStage.head(name, 0, Long.MAX_VALUE));
+    }
+
+    private SimpleStream(Supplier<Iterator<T>> supplier, Source<?> source,
+                         Function<Sink<T>, ? extends Sink<?>> sinkChain, int flags, long size, PipelineStage pipelineStage) {
         this.iteratorSupplier = supplier;
+        this.source = source;
+        this.sinkChain = sinkChain;
+        this.flags = flags;
+        this.size = size;
+        this.pipelineStage = pipelineStage;
+    }
+
+    // ─── Push-Infrastruktur ─────────────────────────────────────────────────
+
+    /** Sink: nimmt die Elemente der Vorgänger-Stufe entgegen (push statt pull) */
+    interface Sink<T> extends Consumer<T> {
+        /** true, wenn keine weiteren Elemente mehr benötigt werden (z.B. nach limit) */
+        default boolean cancellationRequested() { return false; }
+
+        /** Signalisiert das Ende des Stroms; Stages mit Zustand (z.B. gather) reichen hier Restergebnisse weiter */
+        default void end() {}
+
+        /** Die Auswertung bricht mit einer Exception ab, end() kommt nicht mehr; Stages geben hier Ressourcen frei */
+        default void abort() {}
+    }
+
+    /** Quelle, die ihre Elemente selbst in einen Sink schiebt */
+    interface Source<T> {
+        /** Schiebt alle Elemente in sink; bei shortCircuit wird vor jedem Element auf Abbruch geprüft */
+        void pushInto(Sink<T> sink, boolean shortCircuit);
+
+        /** Teilt die Quelle in zwei Hälften oder liefert null, wenn sie sich nicht teilen lässt */
+        default Source<T>[] split() { return null; }
+
+        /** Anzahl der Elemente, Long.MAX_VALUE wenn unbekannt */
+        default long size() { return Long.MAX_VALUE; }
+
+        /** Charakteristika der Quelle (SIZED) */
+        default int characteristics() { return 0; }
+
+        /** Ausschnitt [from, to) der Quelle per Indexsprung oder null, wenn die Quelle keinen Indexzugriff hat */
+        default Source<T> slice(long from, long to) { return null; }
+    }
+
+    /** Teilbare Quelle für den Array-Ausschnitt values[from, to) */
+    private record ArraySource<T>(T[] values, int from, int to) implements Source<T> {
+        @Override public void pushInto(Sink<T> sink, boolean shortCircuit) {
+            if (shortCircuit) for (int i = from; i < to && !sink.cancellationRequested(); i++) sink.accept(values[i]);
+            else              for (int i = from; i < to; i++) sink.accept(values[i]);
+        }
+        @SuppressWarnings("unchecked")
+        @Override public Source<T>[] split() {
+            if (size() < 2) return null;
+            int mid = (from + to) >>> 1;
+            return new Source[] { new ArraySource<>(values, from, mid), new ArraySource<>(values, mid, to) };
+        }
+        @Override public long size() { return to - from; }
+        @Override public int characteristics() { return SIZED; }
+        @Override public Source<T> slice(long from, long to) {
+            return new ArraySource<>(values, (int) (this.from + Math.min(from, size())), (int) (this.from + Math.min(to, size())));
+        }
+    }
+
+    /**
+     * Liest Zeilen schrittweise aus einem FileChannel: Bytes und Zeichen laufen durch je einen wiederverwendeten
+     * Puffer, der CharsetDecoder dekodiert blockweise. Zeilenenden sind wie bei BufferedReader \n, \r und \r\n.
+     * Der Kanal wird am Dateiende oder mit close() geschlossen.
+     */
+    private static final class LineReader implements Closeable {
+        static final int BUFFER_SIZE = 1 << 16;
+
+        private final FileChannel channel;
+        private final CharsetDecoder decoder;
+        private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+        private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE).flip();
+        private final StringBuilder line = new StringBuilder();
+        private boolean inputDone = false, decoded = false, skipLineFeed = false;
+
+        LineReader(Path path, Charset charset) {
+            try {
+                channel = FileChannel.open(path, StandardOpenOption.READ);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            decoder = charset.newDecoder();
+        }
+
+        /** Nächste Zeile ohne Zeilenende oder null am Dateiende */
+        String readLine() {
+            try {
+                while (true) {
+                    while (chars.hasRemaining()) {
+                        char c = chars.get();
+                        if (skipLineFeed) { skipLineFeed = false; if (c == '\n') continue; }
+                        if (c == '\n' || c == '\r') {
+                            skipLineFeed = c == '\r';
+                            String result = line.toString();
+                            line.setLength(0);
+                            return result;
+                        }
+                        line.append(c);
+                    }
+                    if (!decode()) {
+                        close();
+                        if (line.isEmpty()) return null;
+                        String result = line.toString(); // letzte Zeile ohne Zeilenende
+                        line.setLength(0);
+                        return result;
+                    }
+                }
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /** Dekodiert den nächsten Block in chars; false, wenn die Datei vollständig gelesen ist */
+        private boolean decode() throws IOException {
+            if (decoded) return false;
+            chars.clear();
+            while (chars.position() == 0) {
+                if (!inputDone && channel.read(bytes) < 0) inputDone = true;
+                bytes.flip();
+                CoderResult result = decoder.decode(bytes, chars, inputDone);
+                bytes.compact();
+                if (result.isError()) result.throwException();
+                if (inputDone && result.isUnderflow()) {
+                    decoder.flush(chars);
+                    decoded = true;
+                    break;
+                }
+            }
+            chars.flip();
+            return chars.hasRemaining();
+        }
+
+        @Override public void close() {
+            try {
+                channel.close();
+            } catch (IOException ignored) {} // nur gelesen, es geht nichts verloren
+        }
+    }
+
+    /** Sink einer Intermediate-Stage, der Elemente vom Typ T annimmt und Elemente vom Typ R weiterreicht */
+    static abstract class ChainedSink<T, R> implements Sink<T> {
+        final Sink<R> downstream;
+        ChainedSink(Sink<R> downstream) { this.downstream = downstream; }
+        @Override public boolean cancellationRequested() { return downstream.cancellationRequested(); }
+        @Override public void end() { downstream.end(); }
+        @Override public void abort() { downstream.abort(); }
+    }
+
+    /** Kopf einer push-fähigen Pipeline */
+    static <T> SimpleStream<T> head(String name, Supplier<Iterator<T>> supplier, Source<T> source) {
+        return head(name, supplier, source, source.characteristics(), source.size());
+    }
+
+    /** Kopf einer push-fähigen Pipeline, deren Quelle Charakteristika und Größe nicht selbst kennt */
+    static <T> SimpleStream<T> head(String name, Supplier<Iterator<T>> supplier, Source<T> source,
+                                    int characteristics, long size) {
+        return head(supplier, source, PipelineStage.head(name, characteristics, size));
+    }
+
+    /**
+     * Kopf einer reinen Push-Pipeline (z.B. aus SimpleLongStream), hinter der keine Iterator-Kette steht. Wird sie
+     * doch gezogen, sammelt der Iterator zuerst alle Elemente der Quelle -- das setzt eine endliche Quelle voraus.
+     * Terminal-Operationen ziehen nicht, solange es eine Push-Quelle gibt.
+     */
+    static <T> SimpleStream<T> head(String name, Source<T> source, int characteristics, long size) {
+        return head(name, () -> {
+            List<T> buffer = new ArrayList<>();
+            source.pushInto(buffer::add, false);
+            return buffer.iterator();
+        }, source, characteristics, size);
+    }
+
+    /** Kopf einer push-fähigen Pipeline; pipelineStage liefert Charakteristika, Größe und ggf. den Vorgänger */
+    static <T> SimpleStream<T> head(Supplier<Iterator<T>> supplier, Source<T> source, PipelineStage pipelineStage) {
+        if (pipelineStage.isInstrumented()) supplier = meteredIterators(supplier, pipelineStage.metrics);
+        return new SimpleStream<T>(supplier, source, Function.<Sink<T>>identity(), pipelineStage.flags, pipelineStage.size,
+                                   pipelineStage);
+    }
+
+    /**
+     * Hängt eine Stage an: als Iterator (pull) und, falls die Quelle push-fähig ist, als Sink (push).
+     * flags und size beschreiben die Pipeline nach der Stage. Ist die Pipeline instrumentiert, wird die
+     * Stage in beiden Varianten von Messpunkten umschlossen.
+     */
+    private <R> SimpleStream<R> chain(String name, Supplier<Iterator<R>> supplier, Function<Sink<R>, Sink<T>> stage,
+                                      int flags, long size) {
+        PipelineStage next = pipelineStage.then(name, flags, size);
+        if (next.isInstrumented()) {
+            supplier = meteredIterators(supplier, next.metrics);
+            stage = meteredSinks(stage, next.metrics);
+        }
+        if (source == null) return new SimpleStream<>(supplier, null, null, flags, size, next);
+        return new SimpleStream<>(supplier, source, sinkChain.compose(stage), flags, size, next);
+    }
+
+    /**
+     * Schneidet [from, to) per Indexsprung direkt aus der Quelle, statt Elemente abzuzählen. Das geht nur,
+     * solange alle bisherigen Stages jedes Element 1:1 weiterreichen (SIZED, keine zustandsbehaftete Stage).
+     */
+    private SimpleStream<T> slice(String name, Supplier<Iterator<T>> supplier, long from, long to) {
+        if (source == null || (flags & (SIZED | STATEFUL)) != SIZED) return null;
+        Source<?> sliced = source.slice(from, to);
+        if (sliced == null) return null;
+        PipelineStage next = pipelineStage.thenUnmetered(name + " per Indexsprung", flags, sliced.size());
+        if (next.isInstrumented()) supplier = meteredIterators(supplier, next.metrics);
+        return new SimpleStream<>(supplier, sliced, sinkChain, flags, sliced.size(), next);
+    }
+
+    // ─── Instrumentierung (siehe PipelineStage) ─────────────────────────────
+
+    /** Umschließt die Sinks einer Stage: davor werden die eingehenden, dahinter die ausgehenden Elemente gemessen */
+    private static <T, R> Function<Sink<R>, Sink<T>> meteredSinks(Function<Sink<R>, Sink<T>> stage,
+                                                                  PipelineStage.Metrics metrics) {
+        return sink -> new MeteredSink<>(stage.apply(new MeteredSink<>(sink, metrics, false)), metrics, true);
+    }
+
+    /** Misst, was durch target fließt: input zählt nach in und nanos, sonst nach out und innerNanos */
+    private static final class MeteredSink<T> implements Sink<T> {
+        private final Sink<T> target;
+        private final PipelineStage.Metrics metrics;
+        private final boolean input;
+
+        MeteredSink(Sink<T> target, PipelineStage.Metrics metrics, boolean input) {
+            this.target = target; this.metrics = metrics; this.input = input;
+        }
+
+        @Override public void accept(T v) {
+            (input ? metrics.in : metrics.out).increment();
+            long nanos = System.nanoTime(), bytes = PipelineStage.Metrics.allocatedBytes();
+            target.accept(v);
+            record(nanos, bytes);
+        }
+
+        @Override public boolean cancellationRequested() { return target.cancellationRequested(); }
+
+        @Override public void end() {
+            long nanos = System.nanoTime(), bytes = PipelineStage.Metrics.allocatedBytes();
+            target.end();
+            record(nanos, bytes);
+        }
+
+        @Override public void abort() { target.abort(); }
+
+        private void record(long nanos, long bytes) {
+            (input ? metrics.nanos : metrics.innerNanos).add(System.nanoTime() - nanos);
+            (input ? metrics.bytes : metrics.innerBytes).add(PipelineStage.Metrics.allocatedBytes() - bytes);
+        }
+    }
+
+    /** Umschließt den Iterator einer Stage: gemessen wird, was er liefert, samt der Zeit in allen Vorgängern */
+    private static <T> Supplier<Iterator<T>> meteredIterators(Supplier<Iterator<T>> supplier, PipelineStage.Metrics metrics) {
+        return () -> {
+            metrics.pulled = true;
+            Iterator<T> it = supplier.get();
+            return new Iterator<T>() {
+                @Override public boolean hasNext() {
+                    long nanos = System.nanoTime(), bytes = PipelineStage.Metrics.allocatedBytes();
+                    boolean hasNext = it.hasNext();
+                    metrics.nanos.add(System.nanoTime() - nanos);
+                    metrics.bytes.add(PipelineStage.Metrics.allocatedBytes() - bytes);
+                    return hasNext;
+                }
+                @Override public T next() {
+                    long nanos = System.nanoTime(), bytes = PipelineStage.Metrics.allocatedBytes();
+                    T v = it.next();
+                    metrics.out.increment();
+                    metrics.nanos.add(System.nanoTime() - nanos);
+                    metrics.bytes.add(PipelineStage.Metrics.allocatedBytes() - bytes);
+                    return v;
+                }
+            };
+        };
+    }
+
+    /**
+     * Instrumented: Alle danach angehängten Stages messen Elemente (in/out), Zeit und Allokationen.
+     * Die Messwerte sammeln sich über alle Auswertungen an und lassen sich mit explain() ausgeben.
+     */
+    public SimpleStream<T> instrumented() {
+        if (pipelineStage.isInstrumented()) return this;
+        PipelineStage marked = pipelineStage.instrumented();
+        return new SimpleStream<>(meteredIterators(iteratorSupplier, marked.metrics), source, sinkChain, flags, size, marked);
+    }
+
+    /** Explain: die Stages vom Kopf bis hierher mit Flags, Größe und -- nach instrumented() -- Messwerten */
+    public String explain() {
+        return "SimpleStream (" + (source == null ? "pull" : "push") + ((flags & PARALLEL) != 0 ? ", parallel" : "")
+               + ")\n" + pipelineStage.explain();
+    }
+
+    /** Setzt die Pipeline in Gang: push über die Sink-Kette oder, ohne push-fähige Quelle, pull über den Iterator */
+    private <S extends Sink<T>> S evaluate(S terminal) { return evaluate(terminal, false); }
+
+    @SuppressWarnings("unchecked") // die Sink-Kette endet stets bei einem Sink für den Elementtyp der Quelle
+    <S extends Sink<T>> S evaluate(S terminal, boolean shortCircuit) {
+        if (source != null) {
+            evaluate((Source<Object>) source, terminal, (flags & SHORT_CIRCUIT) != 0 || shortCircuit);
+            return terminal;
+        }
+        Iterator<T> it = iteratorSupplier.get();
+        while (!terminal.cancellationRequested() && it.hasNext()) terminal.accept(it.next());
+        terminal.end();
+        return terminal;
+    }
+
+    /** Schiebt die Elemente von source durch die Stages nach terminal */
+    @SuppressWarnings("unchecked") // die Sink-Kette endet stets bei einem Sink für den Elementtyp der Quelle
+    private void evaluate(Source<Object> source, Sink<T> terminal, boolean shortCircuit) {
+        Sink<Object> sink = (Sink<Object>) sinkChain.apply(terminal);
+        try {
+            source.pushInto(sink, shortCircuit);
+            sink.end();
+        } catch (RuntimeException | Error e) {
+            sink.abort(); // z.B. bricht mapAsync seine noch laufenden Aufrufe ab
+            throw e;
+        }
+    }
+
+    /**
+     * Wertet die Pipeline aus; im parallelen Modus wird eine teilbare Quelle per Fork/Join zerlegt,
+     * jeder Teil läuft durch eine eigene Sink-Kette mit eigenem Terminal-Sink und die Teilergebnisse
+     * werden mit combiner zusammengeführt. Ohne teilbare Quelle oder mit skip/limit: sequentiell.
+     */
+    @SuppressWarnings("unchecked") // die Sink-Kette endet stets bei einem Sink für den Elementtyp der Quelle
+    private <S extends Sink<T>> S evaluate(Supplier<S> terminal, BinaryOperator<S> combiner) {
+        if ((flags & (PARALLEL | STATEFUL)) != PARALLEL || source == null || source.split() == null)
+            return evaluate(terminal.get());
+        long threshold = Math.max(source.size() / (ForkJoinPool.getCommonPoolParallelism() * 4L), 1);
+        class EvaluationTask extends RecursiveTask<S> {
+            private final Source<Object> part;
+            EvaluationTask(Source<Object> part) { this.part = part; }
+            @Override protected S compute() {
+                Source<Object>[] halves = part.size() > threshold ? part.split() : null;
+                if (halves == null) {
+                    S sink = terminal.get();
+                    evaluate(part, sink, false);
+                    return sink;
+                }
+                EvaluationTask left = new EvaluationTask(halves[0]);
+                left.fork();
+                S right = new EvaluationTask(halves[1]).compute();
+                return combiner.apply(left.join(), right);
+            }
+        }
+        return new EvaluationTask((Source<Object>) source).invoke();
     }
 
     // ─── Quell-Stage ("Head") ─────────────────────────────────────────────────
 
     /** Erzeugt einen Stream aus den angegebenen Werten */
     @SafeVarargs public static <T> SimpleStream<T> of(T... values) {
-        return new SimpleStream<>(() -> new Iterator<T>() {
+        return head("of(" + values.length + " Werte)", () -> new Iterator<T>() {
             private int index = 0;
             @Override public boolean hasNext() { return index < values.length; }
             @Override public T next() { return values[index++]; }
-        });
+        }, new ArraySource<>(values, 0, values.length));
     }
 
     /** Wandelt einen Iterator in einen Stream */
     public static <T> SimpleStream<T> of(Iterator<T> it) {
-        return new SimpleStream<T>(() -> it);
+        return new SimpleStream<T>(() -> it, "of(Iterator)");
+    }
+
+    /** Zeilen einer UTF-8-Datei, schrittweise gelesen; die Datei wird nie als Ganzes geladen */
+    public static SimpleStream<String> lines(Path path) {
+        return lines(path, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Zeilen einer Datei im Zeichensatz charset (siehe LineReader). Jede Auswertung liest die Datei neu.
+     * Bricht eine Auswertung per Iterator vorzeitig ab, bleibt der Kanal offen, bis der Iterator eingesammelt wird.
+     */
+    public static SimpleStream<String> lines(Path path, Charset charset) {
+        return head("lines(" + path.getFileName() + ")", () -> new Iterator<String>() {
+            private LineReader reader = null;
+            private String next = null;
+
+            @Override public boolean hasNext() {
+                if (reader == null) reader = new LineReader(path, charset);
+                if (next == null) next = reader.readLine();
+                return next != null;
+            }
+
+            @Override public String next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                String result = next;
+                next = null;
+                return result;
+            }
+        }, (sink, shortCircuit) -> {
+            try (LineReader reader = new LineReader(path, charset)) {
+                for (String line; (!shortCircuit || !sink.cancellationRequested()) && (line = reader.readLine()) != null; )
+                    sink.accept(line);
+            }
+        });
     }
 
     public static <T> SimpleStream<T> empty() {
@@ -31,7 +434,7 @@ public class SimpleStream<T> {
 
     /** Unendlicher Stream: f(seed), f(f(seed)), … */
     public static <T> SimpleStream<T> iterate(T seed, UnaryOperator<T> f) {
-        return new SimpleStream<>(() -> new Iterator<T>() {
+        return head("iterate", () -> new Iterator<T>() {
             private T curr = seed;
             private boolean first = true;
             @Override public boolean hasNext() { return true; }
@@ -39,22 +442,260 @@ public class SimpleStream<T> {
                 if (first) { first = false; return curr; }
                 return curr = f.apply(curr);
             }
+        }, (sink, shortCircuit) -> { // unendlich: endet nur durch Abbruch
+            for (T curr = seed; !sink.cancellationRequested(); curr = f.apply(curr)) sink.accept(curr);
         });
     }
 
     /** Unendlicher Stream: wiederholt Werte aus dem Supplier */
     public static <T> SimpleStream<T> generate(Supplier<T> supplier) {
-        return new SimpleStream<>(() -> new Iterator<T>() {
+        return head("generate", () -> new Iterator<T>() {
             @Override public boolean hasNext() { return true; }
             @Override public T next() { return supplier.get(); }
+        }, (sink, shortCircuit) -> { // unendlich: endet nur durch Abbruch
+            while (!sink.cancellationRequested()) sink.accept(supplier.get());
         });
     }
 
+    /**
+     * Stream über die Elemente eines Flow.Publisher, z.B. eines SubmissionPublisher, der einen Live-Feed verteilt.
+     * Jede Auswertung abonniert den Publisher neu und fordert nie mehr Elemente an, als noch in einen Puffer von
+     * bufferSize Elementen passen (Backpressure per request(n)); ein schneller Publisher muss also warten, statt
+     * einen unbegrenzten Puffer zu füllen. Die Terminal-Operation wartet auf eintreffende Elemente, auf einem
+     * virtuellen Thread ohne einen Plattform-Thread zu belegen. Ein vorzeitiges Ende (limit, findFirst) kündigt
+     * das Abonnement, ein onError wird in der Terminal-Operation geworfen.
+     */
+    public static <T> SimpleStream<T> fromPublisher(Flow.Publisher<? extends T> publisher, int bufferSize) {
+        Objects.requireNonNull(publisher);
+        if (bufferSize < 1) throw new IllegalArgumentException("bufferSize < 1: " + bufferSize);
+        return head("fromPublisher(" + bufferSize + ")", () -> new Iterator<T>() {
+            private BufferingSubscriber<T> subscriber = null; // erst beim ersten hasNext()
+            private T next = null;
+
+            @Override public boolean hasNext() {
+                if (subscriber == null) subscriber = BufferingSubscriber.subscribe(publisher, bufferSize);
+                if (next == null) next = subscriber.take();
+                return next != null;
+            }
+
+            @Override public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                T result = next;
+                next = null;
+                return result;
+            }
+        }, (sink, shortCircuit) -> {
+            BufferingSubscriber<T> subscriber = BufferingSubscriber.subscribe(publisher, bufferSize);
+            try {
+                for (T item; !sink.cancellationRequested() && (item = subscriber.take()) != null; ) sink.accept(item);
+            } finally {
+                subscriber.cancel(); // ohne Wirkung, wenn der Publisher schon fertig ist
+            }
+        });
+    }
+
+    /**
+     * Abonnent für fromPublisher: puffert höchstens bufferSize Elemente und fordert jeweils nach, sobald die
+     * Hälfte davon verarbeitet ist. Die Signale des Publishers landen in einer Queue, die der Thread der
+     * Auswertung leert; ein Platz mehr als bufferSize bleibt für onComplete bzw. onError.
+     */
+    private static final class BufferingSubscriber<T> implements Flow.Subscriber<T> {
+        private static final Object COMPLETE = new Object();
+        private record Failure(Throwable error) {}
+
+        private final BlockingQueue<Object> queue; // Elemente, zuletzt COMPLETE oder Failure
+        private final int bufferSize, batch;
+        private volatile Flow.Subscription subscription = null;
+        private volatile boolean cancelled = false;
+        private int consumed = 0;          // seit der letzten Anforderung verarbeitet; nur der Thread der Auswertung
+        private boolean finished = false;  // Ende gelesen; nur der Thread der Auswertung
+
+        private BufferingSubscriber(int bufferSize) {
+            this.queue = new ArrayBlockingQueue<>(bufferSize + 1);
+            this.bufferSize = bufferSize;
+            this.batch = Math.max(1, bufferSize / 2);
+        }
+
+        static <T> BufferingSubscriber<T> subscribe(Flow.Publisher<? extends T> publisher, int bufferSize) {
+            BufferingSubscriber<T> subscriber = new BufferingSubscriber<>(bufferSize);
+            publisher.subscribe(subscriber);
+            return subscriber;
+        }
+
+        @Override public void onSubscribe(Flow.Subscription s) {
+            if (subscription != null) { s.cancel(); return; } // nur ein Abonnement je Subscriber
+            subscription = s;
+            if (cancelled) s.cancel();
+            else s.request(bufferSize);
+        }
+
+        @Override public void onNext(T item) { queue.add(Objects.requireNonNull(item)); } // voll nur, wenn mehr kommt als angefordert
+        @Override public void onError(Throwable error) { queue.add(new Failure(error)); }
+        @Override public void onComplete() { queue.add(COMPLETE); }
+
+        /** Wartet auf das nächste Element; null nach dem Ende. Ein onError wird hier unverändert weitergeworfen */
+        @SuppressWarnings("unchecked") // in der Queue liegen außer COMPLETE und Failure nur Elemente
+        T take() {
+            if (finished) return null;
+            Object item;
+            try {
+                item = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+                throw new CancellationException("fromPublisher unterbrochen");
+            }
+            if (item == COMPLETE || item instanceof Failure) {
+                finished = true;
+                if (!(item instanceof Failure failure)) return null;
+                if (failure.error() instanceof RuntimeException error) throw error;
+                if (failure.error() instanceof Error error) throw error;
+                throw new CompletionException(failure.error());
+            }
+            if (++consumed == batch) {
+                consumed = 0;
+                subscription.request(batch);
+            }
+            return (T) item;
+        }
+
+        /** Kündigt das Abonnement, auch wenn onSubscribe noch aussteht */
+        void cancel() {
+            if (finished) return;
+            finished = true;
+            cancelled = true;
+            Flow.Subscription s = subscription;
+            if (s != null) s.cancel();
+        }
+    }
+
+    // ─── Zwischenspeicher (siehe cache()) ────────────────────────────────────
+
+    /** Teilbare Quelle über die Elemente [from, to) eines vollständig gefüllten Cache */
+    private record ChunkSource<T>(Object[][] chunks, long from, long to) implements Source<T> {
+        @SuppressWarnings("unchecked")
+        @Override public void pushInto(Sink<T> sink, boolean shortCircuit) {
+            for (long i = from; i < to; ) {
+                Object[] chunk = chunks[(int) (i >>> Cache.CHUNK_BITS)];
+                int start = (int) (i & (Cache.CHUNK - 1)), end = (int) Math.min(chunk.length, start + (to - i));
+                if (shortCircuit) {
+                    for (int k = start; k < end; k++) {
+                        if (sink.cancellationRequested()) return;
+                        sink.accept((T) chunk[k]);
+                    }
+                } else for (int k = start; k < end; k++) sink.accept((T) chunk[k]);
+                i += end - start;
+            }
+        }
+        @SuppressWarnings("unchecked")
+        @Override public Source<T>[] split() {
+            if (size() < 2) return null;
+            long mid = (from + to) >>> 1;
+            return new Source[] { new ChunkSource<T>(chunks, from, mid), new ChunkSource<T>(chunks, mid, to) };
+        }
+        @Override public long size() { return to - from; }
+        @Override public int characteristics() { return SIZED; }
+        @Override public Source<T> slice(long from, long to) {
+            return new ChunkSource<>(chunks, this.from + Math.min(from, size()), this.from + Math.min(to, size()));
+        }
+    }
+
+    /**
+     * Zwischenspeicher hinter cache(): Die erste Auswertung schiebt die Elemente der Pipeline davor hindurch und
+     * legt sie nebenbei in Blöcken zu CHUNK Referenzen ab; jede weitere liest nur noch die Blöcke.
+     * Sperre, vorzeitiger Abbruch und maxElements wie bei SimpleIntStream.IntCache.
+     */
+    private static final class Cache<T> implements Source<T> {
+        static final int CHUNK_BITS = 12, CHUNK = 1 << CHUNK_BITS;
+
+        private final SimpleStream<T> upstream;
+        private final long maxElements;
+        private final Lock lock = new ReentrantLock(); // statt synchronized: wartende virtuelle Threads geben ihren Träger frei
+        private Object[][] chunks = null;
+        private long count = 0;
+        private volatile boolean complete = false, evicted = false; // chunks und count gelten erst mit complete
+
+        Cache(SimpleStream<T> upstream, long maxElements) {
+            this.upstream = upstream;
+            this.maxElements = maxElements;
+        }
+
+        @Override public void pushInto(Sink<T> sink, boolean shortCircuit) {
+            if (!complete && !evicted) {
+                lock.lock();
+                try {
+                    if (!complete && !evicted) { fill(sink, shortCircuit); return; }
+                } finally {
+                    lock.unlock();
+                }
+            }
+            if (complete) new ChunkSource<T>(chunks, 0, count).pushInto(sink, shortCircuit);
+            else upstream.evaluate(passOn(sink), shortCircuit);
+        }
+
+        /** Wertet die Pipeline davor aus, reicht die Elemente an sink weiter und hält sie dabei fest */
+        private void fill(Sink<T> sink, boolean shortCircuit) {
+            chunks = new Object[1][];
+            count = 0;
+            upstream.evaluate(new Sink<T>() {
+                @Override public void accept(T v) {
+                    if (!evicted) record(v);
+                    sink.accept(v);
+                }
+                @Override public boolean cancellationRequested() { return sink.cancellationRequested(); }
+            }, shortCircuit);
+            if (evicted) return;
+            if (sink.cancellationRequested()) { chunks = null; return; } // womöglich nicht alle Elemente gesehen
+            int used = (int) ((count + CHUNK - 1) >>> CHUNK_BITS); // Überhang abschneiden
+            chunks = Arrays.copyOf(chunks, used);
+            if (used > 0) chunks[used - 1] = Arrays.copyOf(chunks[used - 1], (int) (count - ((long) (used - 1) << CHUNK_BITS)));
+            complete = true;
+        }
+
+        private void record(T v) {
+            if (count == maxElements) {
+                chunks = null;
+                evicted = true;
+                return;
+            }
+            int chunk = (int) (count >>> CHUNK_BITS);
+            if (chunk == chunks.length) chunks = Arrays.copyOf(chunks, 2 * chunks.length);
+            if (chunks[chunk] == null) chunks[chunk] = new Object[CHUNK];
+            chunks[chunk][(int) (count++ & (CHUNK - 1))] = v;
+        }
+
+        /** sink ohne end(): das ruft die Auswertung des gecachten Stroms selbst auf */
+        private static <T> Sink<T> passOn(Sink<T> sink) {
+            return new Sink<T>() {
+                @Override public void accept(T v) { sink.accept(v); }
+                @Override public boolean cancellationRequested() { return sink.cancellationRequested(); }
+            };
+        }
+
+        Iterator<T> iterator() {
+            if (!complete) return upstream.iteratorSupplier.get();
+            return new Iterator<T>() {
+                private long index = 0;
+                @Override public boolean hasNext() { return index < count; }
+                @SuppressWarnings("unchecked")
+                @Override public T next() {
+                    if (index >= count) throw new NoSuchElementException();
+                    long i = index++;
+                    return (T) chunks[(int) (i >>> CHUNK_BITS)][(int) (i & (CHUNK - 1))];
+                }
+            };
+        }
+
+        @Override public Source<T>[] split() { return complete ? new ChunkSource<T>(chunks, 0, count).split() : null; }
+        @Override public long size() { return complete ? count : Long.MAX_VALUE; }
+        @Override public Source<T> slice(long from, long to) { return complete ? new ChunkSource<T>(chunks, 0, count).slice(from, to) : null; }
+    }
+
     // ─── Intermediate-Stages ────────────────────────────────────────────────
 
     /** Filter: behält nur diejenigen Elemente, für die predicate true ist */
     public SimpleStream<T> filter(Predicate<? super T> predicate) { // public <T> SimpleStream<T> filter(...) FAILED!
-        return new SimpleStream<>(() -> new Iterator<T>() {
+        return chain("filter", () -> new Iterator<T>() {
             final Iterator<T> it = iteratorSupplier.get();
             private T next;
             private boolean hasNextComputed = false;
@@ -83,12 +724,14 @@ public class SimpleStream<T> {
                 hasNextComputed = false;
                 return next;
             }
-        });
+        }, sink -> new ChainedSink<T, T>(sink) {
+            @Override public void accept(T v) { if (predicate.test(v)) downstream.accept(v); }
+        }, flags & ~SIZED, size);
     }
 
     /** Skip: überspringt n Elemente */
     public SimpleStream<T> skip(long n) {
-        return new SimpleStream<>(() -> new Iterator<T>() {
+        Supplier<Iterator<T>> supplier = () -> new Iterator<T>() {
             final Iterator<T> it = iteratorSupplier.get();
             private long counter = n;
             private boolean hasSkipped = false;
@@ -106,12 +749,21 @@ public class SimpleStream<T> {
             @Override public T next() {
                 return it.next();
             }
-        });
+        };
+        SimpleStream<T> sliced = slice("skip(" + n + ")", supplier, n, Long.MAX_VALUE);
+        if (sliced != null) return sliced;
+        return chain("skip(" + n + ")", supplier, sink -> new ChainedSink<T, T>(sink) {
+            private long counter = n;
+            @Override public void accept(T v) {
+                if (counter > 0) counter--;
+                else downstream.accept(v);
+            }
+        }, flags | STATEFUL, size == Long.MAX_VALUE ? size : Math.max(0, size - n));
     }
 
     /** Limit: behält nur die ersten n Elemente */
     public SimpleStream<T> limit(long n) {
-        return new SimpleStream<>(() -> new Iterator<T>() {
+        Supplier<Iterator<T>> supplier = () -> new Iterator<T>() {
             final Iterator<T> it = iteratorSupplier.get();
             private long counter = 0;
 
@@ -123,24 +775,244 @@ public class SimpleStream<T> {
                 counter++;
                 return it.next();
             }
-        });
+        };
+        SimpleStream<T> sliced = slice("limit(" + n + ")", supplier, 0, n);
+        if (sliced != null) return sliced;
+        return chain("limit(" + n + ")", supplier, sink -> new ChainedSink<T, T>(sink) {
+            private long counter = n;
+            @Override public void accept(T v) {
+                if (counter > 0) { counter--; downstream.accept(v); }
+            }
+            @Override public boolean cancellationRequested() {
+                return counter <= 0 || downstream.cancellationRequested();
+            }
+        }, flags | SHORT_CIRCUIT | STATEFUL, Math.min(size, n));
     }
 
     /** Map: wendet mapper auf jedes Element an */
     public <R> SimpleStream<R> map(Function<? super T, ? extends R> mapper) {
-        return new SimpleStream<>(() -> new Iterator<R>() {
+        return chain("map", () -> new Iterator<R>() {
             final Iterator<T> it = iteratorSupplier.get();
             @Override public boolean hasNext() { return it.hasNext(); }
             @Override public R next()  { return mapper.apply(it.next()); }
-        });
+        }, sink -> new ChainedSink<T, R>(sink) {
+            @Override public void accept(T v) { downstream.accept(mapper.apply(v)); }
+        }, flags, size);
+    }
+
+    /**
+     * MapAsync: wendet mapper auf virtuellen Threads an, mit höchstens maxConcurrency Aufrufen gleichzeitig.
+     * Die Ergebnisse kommen in der Reihenfolge der Quelle an. Wirft ein mapper eine Exception, wird sie
+     * beim Weiterreichen des Elements erneut geworfen und die übrigen Aufrufe werden abgebrochen. Bei der
+     * Push-Auswertung gilt das auch, sobald ein nachfolgendes limit oder findFirst keine Elemente mehr braucht
+     * oder eine andere Stage bzw. die Quelle eine Exception wirft. Wird dagegen ein Iterator vorzeitig
+     * verlassen (iterator(), Quellen ohne Push), laufen die höchstens maxConcurrency gestarteten Aufrufe zu Ende.
+     */
+    public <R> SimpleStream<R> mapAsync(Function<? super T, ? extends R> mapper, int maxConcurrency) {
+        if (maxConcurrency < 1) throw new IllegalArgumentException("maxConcurrency muss positiv sein: " + maxConcurrency);
+        return chain("mapAsync(" + maxConcurrency + ")", () -> new Iterator<R>() {
+            final Iterator<T> it = iteratorSupplier.get();
+            final AsyncWindow<T, R> window = new AsyncWindow<>(mapper, maxConcurrency);
+
+            // Wird der Iterator vorzeitig verlassen, laufen die bereits gestarteten Aufrufe noch zu Ende
+            @Override public boolean hasNext() {
+                try {
+                    while (!window.isFull() && it.hasNext()) window.submit(it.next());
+                } catch (RuntimeException | Error e) {
+                    window.close();
+                    throw e;
+                }
+                if (window.isEmpty()) window.close();
+                return !window.isEmpty();
+            }
+
+            @Override public R next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return window.take();
+            }
+        }, sink -> new ChainedSink<T, R>(sink) {
+            final AsyncWindow<T, R> window = new AsyncWindow<>(mapper, maxConcurrency);
+            @Override public void accept(T v) {
+                if (window.isFull()) downstream.accept(window.take());
+                if (!downstream.cancellationRequested()) window.submit(v);
+            }
+            @Override public void end() {
+                try {
+                    while (!window.isEmpty() && !downstream.cancellationRequested()) downstream.accept(window.take());
+                } finally {
+                    window.close(); // bricht ab, was nach einem vorzeitigen Ende noch läuft
+                }
+                downstream.end();
+            }
+            @Override public void abort() { // Exception hier oder anderswo in der Pipeline: end() kommt nicht mehr
+                window.close();
+                downstream.abort();
+            }
+        }, flags, size);
+    }
+
+    /** Fenster der laufenden mapper-Aufrufe von mapAsync, in der Reihenfolge, in der sie gestartet wurden */
+    private static final class AsyncWindow<T, R> {
+        private final Function<? super T, ? extends R> mapper;
+        private final int maxConcurrency;
+        private final ArrayDeque<Future<R>> running = new ArrayDeque<>();
+        private ExecutorService executor = null; // erst beim ersten Element
+
+        AsyncWindow(Function<? super T, ? extends R> mapper, int maxConcurrency) {
+            this.mapper = mapper;
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        boolean isFull() { return running.size() >= maxConcurrency; }
+        boolean isEmpty() { return running.isEmpty(); }
+
+        void submit(T v) {
+            if (executor == null) executor = Executors.newVirtualThreadPerTaskExecutor();
+            running.addLast(executor.submit(() -> mapper.apply(v)));
+        }
+
+        /** Wartet auf das älteste Ergebnis; eine Exception des mappers wird unverändert weitergeworfen */
+        R take() {
+            Future<R> future = running.removeFirst();
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new CancellationException("mapAsync unterbrochen");
+            } catch (ExecutionException e) {
+                close();
+                if (e.getCause() instanceof RuntimeException cause) throw cause;
+                if (e.getCause() instanceof Error cause) throw cause;
+                throw new CompletionException(e.getCause());
+            }
+        }
+
+        /** Bricht alle noch laufenden Aufrufe ab (per Interrupt) und beendet den Executor */
+        void close() {
+            for (Future<R> future : running) future.cancel(true);
+            running.clear();
+            if (executor != null) executor.shutdownNow();
+        }
     }
 
     public SimpleIntStream mapToInt(ToIntFunction<? super T> mapper) { // public <T> SimpleIntStream mapToInt(... FAILED!
-        return SimpleIntStream.of(new PrimitiveIterator.OfInt() {
+        Supplier<PrimitiveIterator.OfInt> supplier = () -> new PrimitiveIterator.OfInt() {
             final Iterator<T> it = iteratorSupplier.get();
             @Override public boolean hasNext() { return it.hasNext(); }
             @Override public int nextInt()  { return mapper.applyAsInt(it.next()); }
-        });
+        };
+        if (source == null) return SimpleIntStream.of(supplier.get());
+        // Push über die Typgrenze hinweg: die Objekt-Pipeline schiebt die gemappten ints in die Sinks des SimpleIntStream
+        return SimpleIntStream.head(supplier, (sink, shortCircuit) -> evaluate(new Sink<T>() {
+            @Override public void accept(T v) { sink.accept(mapper.applyAsInt(v)); }
+            @Override public boolean cancellationRequested() { return sink.cancellationRequested(); }
+        }, shortCircuit), pipelineStage.thenUnmetered("mapToInt", (flags & SIZED) != 0 ? SimpleIntStream.SIZED : 0, size));
+    }
+
+    public SimpleLongStream mapToLong(ToLongFunction<? super T> mapper) {
+        return SimpleLongStream.head((sink, shortCircuit) -> evaluate(new Sink<T>() {
+            @Override public void accept(T v) { sink.accept(mapper.applyAsLong(v)); }
+            @Override public boolean cancellationRequested() { return sink.cancellationRequested(); }
+        }, shortCircuit), (flags & SIZED) != 0 ? SimpleLongStream.SIZED : 0, size);
+    }
+
+    public SimpleDoubleStream mapToDouble(ToDoubleFunction<? super T> mapper) {
+        return SimpleDoubleStream.head((sink, shortCircuit) -> evaluate(new Sink<T>() {
+            @Override public void accept(T v) { sink.accept(mapper.applyAsDouble(v)); }
+            @Override public boolean cancellationRequested() { return sink.cancellationRequested(); }
+        }, shortCircuit), (flags & SIZED) != 0 ? SimpleDoubleStream.SIZED : 0, size);
+    }
+
+    /** Sorted: sortiert nach natürlicher Ordnung; die Elemente müssen Comparable sein */
+    @SuppressWarnings("unchecked")
+    public SimpleStream<T> sorted() {
+        return sorted((Comparator<? super T>) Comparator.naturalOrder());
+    }
+
+    /**
+     * Sorted: sortiert stabil nach comparator; war parallel() vorher aufgerufen, per Arrays.parallelSort.
+     * Die Stage sammelt erst alle Elemente und reicht sie am Ende des Stroms weiter.
+     */
+    public SimpleStream<T> sorted(Comparator<? super T> comparator) {
+        boolean parallel = (flags & PARALLEL) != 0;
+        return chain("sorted", () -> new Iterator<T>() {
+            private Iterator<T> sorted = null;
+
+            private Iterator<T> sorted() {
+                if (sorted == null) {
+                    List<T> buffer = new ArrayList<>();
+                    iteratorSupplier.get().forEachRemaining(buffer::add);
+                    sorted = sort(buffer, comparator, parallel).iterator();
+                }
+                return sorted;
+            }
+
+            @Override public boolean hasNext() { return sorted().hasNext(); }
+            @Override public T next() { return sorted().next(); }
+        }, sink -> new ChainedSink<T, T>(sink) {
+            final List<T> buffer = new ArrayList<>();
+            @Override public void accept(T v) { buffer.add(v); }
+            @Override public boolean cancellationRequested() { return false; } // alle Elemente werden gebraucht
+            @Override public void end() {
+                for (T v : sort(buffer, comparator, parallel)) {
+                    if (downstream.cancellationRequested()) break;
+                    downstream.accept(v);
+                }
+                downstream.end();
+            }
+        }, flags | STATEFUL, size);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> sort(List<T> buffer, Comparator<? super T> comparator, boolean parallel) {
+        if (!parallel) { buffer.sort(comparator); return buffer; }
+        T[] values = (T[]) buffer.toArray();
+        Arrays.parallelSort(values, comparator);
+        return Arrays.asList(values);
+    }
+
+    /** Gather: frei programmierbare Stage mit Zustand (siehe SimpleGatherer), stets sequentiell */
+    public <A, R> SimpleStream<R> gather(SimpleGatherer<? super T, A, R> gatherer) {
+        Supplier<A> initializer = gatherer.initializer();
+        SimpleGatherer.Integrator<A, ? super T, R> integrator = gatherer.integrator();
+        BiConsumer<A, SimpleGatherer.Downstream<? super R>> finisher = gatherer.finisher();
+        return chain("gather", () -> new Iterator<R>() {
+            final Iterator<T> it = iteratorSupplier.get();
+            final A state = initializer.get();
+            // was der Gatherer pro Schritt weiterreicht, wird bis zum Abholen zwischengespeichert
+            final ArrayDeque<R> buffer = new ArrayDeque<>();
+            private boolean rejecting = false, finished = false;
+            final SimpleGatherer.Downstream<R> downstream = v -> { buffer.addLast(v); return true; };
+
+            @Override public boolean hasNext() {
+                while (buffer.isEmpty() && !finished) {
+                    if (!rejecting && it.hasNext()) rejecting = !integrator.integrate(state, it.next(), downstream);
+                    else { finisher.accept(state, downstream); finished = true; }
+                }
+                return !buffer.isEmpty();
+            }
+
+            @Override public R next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return buffer.removeFirst();
+            }
+        }, sink -> new ChainedSink<T, R>(sink) {
+            final A state = initializer.get();
+            private boolean rejecting = false;
+            final SimpleGatherer.Downstream<R> pushDownstream = v -> {
+                downstream.accept(v);
+                return !downstream.cancellationRequested();
+            };
+            @Override public void accept(T v) {
+                if (!rejecting) rejecting = !integrator.integrate(state, v, pushDownstream);
+            }
+            @Override public boolean cancellationRequested() { return rejecting || downstream.cancellationRequested(); }
+            @Override public void end() {
+                finisher.accept(state, pushDownstream);
+                downstream.end();
+            }
+        }, (flags | SHORT_CIRCUIT | STATEFUL) & ~SIZED, Long.MAX_VALUE);
     }
 
     /** Peek: verarbeite jedes Element mit action */
@@ -148,36 +1020,277 @@ public class SimpleStream<T> {
         return map(n -> { action.accept(n); return n; });
     }
 
+    /**
+     * Cache: Die erste Terminal-Operation hält die Elemente fest, alle weiteren lesen sie nur noch, statt die
+     * Pipeline davor erneut auszuwerten -- so lässt sich auch ein Strom aus einem Iterator mehrfach auswerten.
+     * Die erste Auswertung läuft sequentiell, die weiteren nach parallel() auch parallel (siehe Cache).
+     */
+    public SimpleStream<T> cache() { return cache("cache", Long.MAX_VALUE); }
+
+    /** Cache für höchstens maxElements Elemente; bei mehr wird der Zwischenspeicher verworfen */
+    public SimpleStream<T> cache(long maxElements) {
+        if (maxElements < 0) throw new IllegalArgumentException("maxElements darf nicht negativ sein: " + maxElements);
+        return cache("cache(≤" + maxElements + ")", maxElements);
+    }
+
+    private SimpleStream<T> cache(String name, long maxElements) {
+        Cache<T> cache = new Cache<>(this, maxElements);
+        return head(cache::iterator, cache, pipelineStage.thenUnmetered(name, flags & (PARALLEL | SIZED), size));
+    }
+
+    /** Parallel: Terminal-Operationen teilen die Quelle auf und verarbeiten die Teile im ForkJoinPool */
+    public SimpleStream<T> parallel() {
+        return new SimpleStream<>(iteratorSupplier, source, sinkChain, flags | PARALLEL, size, pipelineStage);
+    }
+
+    /** Sequential: hebt parallel() wieder auf */
+    public SimpleStream<T> sequential() {
+        return new SimpleStream<>(iteratorSupplier, source, sinkChain, flags & ~PARALLEL, size, pipelineStage);
+    }
+
+    public boolean isParallel() { return (flags & PARALLEL) != 0; }
+
     // ─── Terminal-Stages ────────────────────────────────────────────────────
 
     /** Reduce: kombiniert mit identity beginnend alle Element mit op zu einem einzigen Ergebnis */
     public T reduce(T identity, BinaryOperator<T> op) {
-        Iterator<T> it = iteratorSupplier.get();
-        if (!it.hasNext()) return identity;
-        T result = identity;
-        while (it.hasNext()) {
-            result = op.apply(result, it.next());
+        class ReducingSink implements Sink<T> {
+            T result = identity;
+            @Override public void accept(T v) { result = op.apply(result, v); }
         }
-        return result;
+        return evaluate(ReducingSink::new, (a, b) -> { a.result = op.apply(a.result, b.result); return a; }).result;
     }
     // TEST: SimpleStream.<Integer>of(1,2,3).map(i -> i.toString()).reduce("", (x, y) -> x + y)
 
     /** Reduce: kombiniert alle Elemente mit op zu einem einzigen Ergebnis */
     public Optional<T> reduce(BinaryOperator<T> op) {
-        Iterator<T> it = iteratorSupplier.get();
-        if (!it.hasNext()) return Optional.<T>empty();
-        T result = it.next();
-        while (it.hasNext()) {
-            result = op.apply(result, it.next());
+        class ReducingSink implements Sink<T> {
+            boolean empty = true;
+            T result;
+            @Override public void accept(T v) {
+                if (empty) { empty = false; result = v; }
+                else result = op.apply(result, v);
+            }
+        }
+        ReducingSink sink = evaluate(ReducingSink::new, (a, b) -> { if (!b.empty) a.accept(b.result); return a; });
+        return sink.empty ? Optional.<T>empty() : Optional.<T>of(sink.result);
+    }
+
+    /** Collect: sammelt alle Elemente mit collector (parallel: ein Behälter je Teil, danach zusammengeführt) */
+    public <A, R> R collect(SimpleCollector<? super T, A, R> collector) {
+        Supplier<A> supplier = collector.supplier();
+        BiConsumer<A, ? super T> accumulator = collector.accumulator();
+        BinaryOperator<A> combiner = collector.combiner();
+        class CollectingSink implements Sink<T> {
+            A container = supplier.get();
+            @Override public void accept(T v) { accumulator.accept(container, v); }
+        }
+        A container = evaluate(CollectingSink::new, (a, b) -> { a.container = combiner.apply(a.container, b.container); return a; }).container;
+        return collector.finisher().apply(container);
+    }
+
+    /**
+     * FanOut: die Ergebnisse aller collectors aus einem einzigen Durchlauf, in derselben Reihenfolge, statt die
+     * Pipeline für jedes Ergebnis neu auszuwerten -- bei Dateien also nur einmal lesen. Geht auch bei
+     * Iterator-Quellen, die sich nur einmal auswerten lassen.
+     */
+    @SafeVarargs
+    public final List<Object> fanOut(SimpleCollector<? super T, ?, ?>... collectors) {
+        return collect(SimpleCollectors.fanOut(collectors));
+    }
+
+    /**
+     * FanOutAsync: wie fanOut, aber jeder Collector läuft auf einem eigenen virtuellen Thread. Die (sequentielle)
+     * Auswertung reicht die Elemente in Blöcken weiter; jeder Collector puffert höchstens bufferSize Elemente,
+     * ein langsamer Collector bremst also die Auswertung, statt Speicher anzuhäufen. Lohnt sich, wenn die
+     * Collectoren selbst teuer sind.
+     */
+    @SafeVarargs
+    public final List<Object> fanOutAsync(int bufferSize, SimpleCollector<? super T, ?, ?>... collectors) {
+        if (bufferSize < 1) throw new IllegalArgumentException("bufferSize < 1: " + bufferSize);
+        int chunkSize = Math.min(bufferSize, AsyncBranch.CHUNK_SIZE);
+        List<AsyncBranch<T, ?, ?>> branches = new ArrayList<>();
+        for (SimpleCollector<? super T, ?, ?> collector : collectors) branches.add(new AsyncBranch<>(collector, bufferSize / chunkSize));
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (AsyncBranch<T, ?, ?> branch : branches) futures.add(executor.submit(branch));
+            evaluate(new Sink<T>() {
+                Object[] chunk = new Object[chunkSize];
+                int length = 0;
+
+                @Override public void accept(T v) {
+                    chunk[length++] = v;
+                    if (length == chunkSize) handOff();
+                }
+                private void handOff() { // die Collectoren lesen den Block nur, alle bekommen dasselbe Array
+                    Object[] block = length == chunkSize ? chunk : Arrays.copyOf(chunk, length);
+                    for (AsyncBranch<T, ?, ?> branch : branches) branch.put(block);
+                    chunk = new Object[chunkSize];
+                    length = 0;
+                }
+                @Override public void end() {
+                    if (length > 0) handOff();
+                    for (AsyncBranch<T, ?, ?> branch : branches) branch.put(AsyncBranch.END);
+                }
+            });
+            List<Object> results = new ArrayList<>();
+            for (Future<?> future : futures) results.add(AsyncBranch.result(future));
+            return Collections.unmodifiableList(results);
+        } finally {
+            executor.shutdownNow(); // bricht die Collectoren ab, falls die Auswertung mit einer Exception endet
         }
-        return Optional.<T>of(result);
     }
 
-    /** ForEach: verarbeitet jedes Element mit action */
-    public void forEach(Consumer<T> action) { peek(action).reduce((a, b) -> a); }
+    /** Ein Collector von fanOutAsync: nimmt die Blöcke aus einer beschränkten Queue, bis END kommt */
+    private static final class AsyncBranch<T, A, R> implements Callable<R> {
+        static final int CHUNK_SIZE = 1 << 10;
+        static final Object[] END = new Object[0];
+
+        private final SimpleCollector<? super T, A, R> collector;
+        private final BlockingQueue<Object[]> queue;
+
+        AsyncBranch(SimpleCollector<? super T, A, R> collector, int capacity) {
+            this.collector = collector;
+            this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        }
+
+        /** Wartet, solange die Queue voll ist */
+        void put(Object[] chunk) {
+            try {
+                queue.put(chunk);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("fanOutAsync unterbrochen");
+            }
+        }
+
+        @SuppressWarnings("unchecked") // die Blöcke enthalten nur Elemente des Streams
+        @Override public R call() throws InterruptedException {
+            A container;
+            try { // auch supplier und accumulator können werfen
+                container = collector.supplier().get();
+                BiConsumer<A, ? super T> accumulator = collector.accumulator();
+                for (Object[] chunk; (chunk = queue.take()) != END; ) for (Object v : chunk) accumulator.accept(container, (T) v);
+            } catch (RuntimeException | Error e) {
+                while (queue.take() != END) {} // weiter abnehmen, sonst wartet die Auswertung vergeblich
+                throw e;
+            }
+            return collector.finisher().apply(container);
+        }
+
+        /** Ergebnis eines Collectors; seine Exception wird unverändert weitergeworfen */
+        static Object result(Future<?> future) {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("fanOutAsync unterbrochen");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) throw cause;
+                if (e.getCause() instanceof Error cause) throw cause;
+                throw new CompletionException(e.getCause());
+            }
+        }
+    }
+
+    /** ToList: sammelt alle Elemente in einer unveränderlichen Liste */
+    public List<T> toList() { return Collections.unmodifiableList(collect(SimpleCollectors.toList())); }
+
+    /** ForEach: verarbeitet jedes Element mit action (parallel in beliebiger Reihenfolge) */
+    public void forEach(Consumer<T> action) { evaluate(() -> action::accept, (a, b) -> a); }
 
     // FindFirst: Liefere erstes Element im Stream aus */
     public Optional<T> findFirst() { return limit(1).reduce((a, b) -> a); }
 
-    public int count() { return mapToInt(i -> 1).sum(); }
+    /**
+     * Count: Zählt die Anzahl der Elemente; bei bekannter Größe (SIZED) ohne Traversierung, also auch ohne peek-Aktionen.
+     * Mehr als Integer.MAX_VALUE Elemente passen nicht in ein int: ArithmeticException
+     */
+    public int count() {
+        if ((flags & SIZED) != 0) return Math.toIntExact(size);
+        class CountSink implements Sink<T> {
+            long count;
+            @Override public void accept(T v) { count++; }
+        }
+        return Math.toIntExact(evaluate(CountSink::new, (a, b) -> { a.count += b.count; return a; }).count);
+    }
+
+    /**
+     * ToPublisher: die Pipeline als Flow.Publisher, der nur so viele Elemente liefert, wie der Abonnent mit
+     * request(n) anfordert. Jeder Abonnent erhält eine eigene, sequentielle Auswertung auf einem eigenen
+     * virtuellen Thread; der wartet, solange keine Nachfrage besteht, und endet mit onComplete, onError oder
+     * nach cancel(). Ein cancel() bricht die Auswertung wie ein limit ab.
+     */
+    public Flow.Publisher<T> toPublisher() {
+        return subscriber -> {
+            PublishingSubscription<T> subscription = new PublishingSubscription<>(Objects.requireNonNull(subscriber));
+            subscriber.onSubscribe(subscription);
+            Thread.ofVirtual().name("toPublisher").start(() -> subscription.run(this));
+        };
+    }
+
+    /** Abonnement von toPublisher: der Terminal-Sink der Auswertung, der vor jedem Element auf Nachfrage wartet */
+    private static final class PublishingSubscription<T> implements Flow.Subscription, Sink<T> {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition demanded = lock.newCondition();
+        private long demand = 0; // angefordert, aber noch nicht geliefert; unter lock
+        private volatile boolean cancelled = false;
+        private volatile Throwable invalidRequest = null;
+
+        PublishingSubscription(Flow.Subscriber<? super T> subscriber) { this.subscriber = subscriber; }
+
+        @Override public void request(long n) {
+            lock.lock();
+            try {
+                if (n <= 0) { // Regelverstoß des Abonnenten: Abbruch und onError (Reactive Streams §3.9)
+                    invalidRequest = new IllegalArgumentException("request(" + n + "): n muss positiv sein");
+                    cancelled = true;
+                } else {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n; // Long.MAX_VALUE: unbegrenzt
+                }
+                demanded.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override public void cancel() {
+            lock.lock();
+            try {
+                cancelled = true;
+                demanded.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override public void accept(T v) {
+            lock.lock();
+            try {
+                while (demand == 0 && !cancelled) demanded.awaitUninterruptibly();
+                if (cancelled) return;
+                demand--;
+            } finally {
+                lock.unlock();
+            }
+            subscriber.onNext(v); // außerhalb des Locks, onNext darf selbst request(n) aufrufen
+        }
+
+        @Override public boolean cancellationRequested() { return cancelled; }
+
+        void run(SimpleStream<T> stream) {
+            Throwable error = null;
+            try {
+                stream.evaluate(this, true);
+            } catch (Throwable e) {
+                error = e;
+            }
+            if (invalidRequest != null) subscriber.onError(invalidRequest);
+            else if (cancelled) return; // nach cancel() keine Signale mehr
+            else if (error != null) subscriber.onError(error);
+            else subscriber.onComplete();
+        }
+    }
 }
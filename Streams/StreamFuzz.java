@@ -0,0 +1,304 @@
+
+/**
+ * Differentielles Fuzzing: Das Programm erzeugt zufällige Pipelines aus einer Quelle (`range`, `of`, `iterate`,
+ * `of(Iterator)`), einer Kette von `filter`, `map`, `skip`, `limit` & Co. und einer Terminal-Operation. Jede
+ * Pipeline läuft auf `SimpleIntStream` bzw. `SimpleStream` und auf `IntStream` bzw. `Stream`, die Ergebnisse
+ * müssen übereinstimmen. Die Pipelines verteilen sich auf alle Kerne; nebenbei werden beide Seiten gemessen
+ * und die Laufzeiten je Operator ins Verhältnis gesetzt.
+ *
+ * java --enable-preview StreamFuzz.java [pipelines] [seed] [maxRatio]
+ *
+ * Abweichende Pipelines werden als Java-Ausdruck samt Seed zum Nachstellen ausgegeben. Mit maxRatio gilt auch
+ * ein Operator als Fehler, bei dem der Nachbau mehr als maxRatio-mal so lange braucht wie das Original.
+ */
+
+// Ein Baustein der Pipeline für alle vier Stromarten; code ist der Aufruf beim Nachbau
+record Step(String operator, String code, UnaryOperator<SimpleIntStream> simpleInt, UnaryOperator<IntStream> jdkInt,
+            UnaryOperator<SimpleStream<Integer>> simple, UnaryOperator<Stream<Integer>> jdk) {}
+
+record Source(String operator, String intCode, String boxedCode, Supplier<SimpleIntStream> simpleInt, Supplier<IntStream> jdkInt,
+              Supplier<SimpleStream<Integer>> simple, Supplier<Stream<Integer>> jdk) {}
+
+record Terminal(String operator, String code, Function<SimpleIntStream, Object> simpleInt, Function<IntStream, Object> jdkInt,
+                Function<SimpleStream<Integer>, Object> simple, Function<Stream<Integer>, Object> jdk) {}
+
+record Pipeline(long seed, boolean boxed, Source source, List<Step> steps, Terminal terminal) {
+    Object runSimple() {
+        return capture(() -> {
+            if (boxed) {
+                SimpleStream<Integer> stream = source.simple().get();
+                for (Step step : steps) stream = step.simple().apply(stream);
+                return terminal.simple().apply(stream);
+            }
+            SimpleIntStream stream = source.simpleInt().get();
+            for (Step step : steps) stream = step.simpleInt().apply(stream);
+            return terminal.simpleInt().apply(stream);
+        });
+    }
+
+    Object runJdk() {
+        return capture(() -> {
+            if (boxed) {
+                Stream<Integer> stream = source.jdk().get();
+                for (Step step : steps) stream = step.jdk().apply(stream);
+                return terminal.jdk().apply(stream);
+            }
+            IntStream stream = source.jdkInt().get();
+            for (Step step : steps) stream = step.jdkInt().apply(stream);
+            return terminal.jdkInt().apply(stream);
+        });
+    }
+
+    // Eine Exception ist auch ein Ergebnis: beide Seiten müssen dieselbe werfen
+    private static Object capture(Supplier<Object> run) {
+        try {
+            return run.get();
+        } catch (RuntimeException e) {
+            return "throws " + e.getClass().getSimpleName();
+        }
+    }
+
+    String code() {
+        StringBuilder code = new StringBuilder(boxed ? source.boxedCode() : source.intCode());
+        for (Step step : steps) code.append(step.code());
+        return code.append(terminal.code()).toString();
+    }
+
+    /** Schlüssel für die Laufzeitstatistik: Stromart und Operator, jeder Operator nur einmal je Pipeline */
+    Set<String> operators() {
+        String kind = boxed ? "Stream " : "IntStream ";
+        Set<String> operators = new TreeSet<>();
+        operators.add(kind + source.operator());
+        for (Step step : steps) operators.add(kind + step.operator());
+        operators.add(kind + terminal.operator() + "()");
+        return operators;
+    }
+}
+
+// Laufzeiten aller Pipelines, in denen ein Operator vorkommt
+record Timing(LongAdder pipelines, LongAdder simpleNanos, LongAdder jdkNanos) {
+    Timing() { this(new LongAdder(), new LongAdder(), new LongAdder()); }
+    double ratio() { return (double) simpleNanos.sum() / Math.max(1, jdkNanos.sum()); }
+}
+
+// Beendet einen Worker, wenn eine Pipeline mehr als eine RuntimeException wirft; seed benennt die Pipeline
+static final class WorkerFailure extends RuntimeException {
+    final long seed;
+    WorkerFailure(long seed, String code, Throwable cause) {
+        super(code, cause);
+        this.seed = seed;
+    }
+}
+
+static final int MAX_SIZE = 1 << 17;
+static final int MAX_STEPS = 6;
+static final int TIMED_RUNS = 3; // gemessen wird der schnellste Lauf je Seite
+static final int MIN_PIPELINES_FOR_RATIO = 20;
+
+static final List<Terminal> TERMINALS = List.of(
+    new Terminal("sum", ".sum()", SimpleIntStream::sum, IntStream::sum, s -> s.reduce(0, Integer::sum), s -> s.reduce(0, Integer::sum)),
+    new Terminal("count", ".count()", s -> (long) s.count(), IntStream::count, s -> (long) s.count(), Stream::count),
+    new Terminal("min", ".min()", SimpleIntStream::min, IntStream::min, s -> s.reduce(Integer::min), s -> s.reduce(Integer::min)),
+    new Terminal("max", ".max()", SimpleIntStream::max, IntStream::max, s -> s.reduce(Integer::max), s -> s.reduce(Integer::max)),
+    new Terminal("average", ".average()", SimpleIntStream::average, IntStream::average,
+                 s -> s.mapToInt(v -> v).average(), s -> s.mapToInt(v -> v).average()),
+    new Terminal("findFirst", ".findFirst()", SimpleIntStream::findFirst, IntStream::findFirst, SimpleStream::findFirst, Stream::findFirst),
+    new Terminal("reduce", ".reduce(0, (a, b) -> a ^ b)", s -> s.reduce(0, (a, b) -> a ^ b), s -> s.reduce(0, (a, b) -> a ^ b),
+                 s -> s.reduce(0, (a, b) -> a ^ b), s -> s.reduce(0, (a, b) -> a ^ b)),
+    new Terminal("toArray", ".toArray()", s -> Arrays.stream(s.toArray()).boxed().toList(), s -> Arrays.stream(s.toArray()).boxed().toList(),
+                 SimpleStream::toList, Stream::toList),
+    new Terminal("fanOut", ".fanOut(...)",
+                 s -> s.fanOut(SimpleIntCollectors.sum(), SimpleIntCollectors.count(), SimpleIntCollectors.max()),
+                 s -> {
+                     IntSummaryStatistics statistics = s.summaryStatistics();
+                     return List.of((int) statistics.getSum(), (int) statistics.getCount(),
+                                    statistics.getCount() == 0 ? OptionalInt.empty() : OptionalInt.of(statistics.getMax()));
+                 },
+                 s -> s.fanOut(SimpleCollectors.counting(), SimpleCollectors.toList()),
+                 s -> s.collect(Collectors.teeing(Collectors.counting(), Collectors.toList(), List::of))));
+
+Pipeline randomPipeline(long seed) {
+    SplittableRandom random = new SplittableRandom(seed);
+    boolean boxed = random.nextInt(4) == 0;
+    Source source = randomSource(random);
+    List<Step> steps = new ArrayList<>();
+    for (int k = random.nextInt(MAX_STEPS + 1); k > 0; k--) steps.add(randomStep(random, boxed));
+    return new Pipeline(seed, boxed, source, steps, TERMINALS.get(random.nextInt(TERMINALS.size())));
+}
+
+Source randomSource(SplittableRandom random) {
+    int size = random.nextInt(4) == 0 ? random.nextInt(4) : (int) Math.pow(MAX_SIZE, random.nextDouble());
+    switch (random.nextInt(4)) {
+        case 0 -> {
+            int from = random.nextInt(2001) - 1000;
+            return new Source("range", "SimpleIntStream.range(" + from + ", " + (from + size) + ")",
+                              "SimpleIntStream.range(" + from + ", " + (from + size) + ").mapToObj(v -> v)",
+                              () -> SimpleIntStream.range(from, from + size), () -> IntStream.range(from, from + size),
+                              () -> SimpleIntStream.range(from, from + size).mapToObj(v -> v), () -> IntStream.range(from, from + size).boxed());
+        }
+        case 1 -> {
+            int[] values = randomValues(random, size);
+            Integer[] boxedValues = Arrays.stream(values).boxed().toArray(Integer[]::new);
+            return new Source("of", "SimpleIntStream.of(" + describe(values) + ")", "SimpleStream.of(" + describe(values) + ")",
+                              () -> SimpleIntStream.of(values), () -> IntStream.of(values),
+                              () -> SimpleStream.of(boxedValues), () -> Stream.of(boxedValues));
+        }
+        case 2 -> {
+            int start = random.nextInt(100), factor = random.nextInt(5) - 2, summand = random.nextInt(21) - 10;
+            IntUnaryOperator next = v -> v * factor + summand;
+            String code = "iterate(" + start + ", v -> v * " + factor + " + " + summand + ").limit(" + size + ")";
+            return new Source("iterate", "SimpleIntStream." + code, "SimpleStream." + code,
+                              () -> SimpleIntStream.iterate(start, next).limit(size), () -> IntStream.iterate(start, next).limit(size),
+                              () -> SimpleStream.iterate(start, next::applyAsInt).limit(size),
+                              () -> Stream.iterate(start, next::applyAsInt).limit(size));
+        }
+        default -> {
+            int[] values = randomValues(random, size);
+            List<Integer> boxedValues = Arrays.stream(values).boxed().toList();
+            return new Source("of(Iterator)", "SimpleIntStream.of(" + describe(values) + ".iterator())",
+                              "SimpleStream.of(" + describe(values) + ".iterator())",
+                              () -> SimpleIntStream.of(Arrays.stream(values).iterator()), () -> IntStream.of(values),
+                              () -> SimpleStream.of(boxedValues.iterator()), boxedValues::stream);
+        }
+    }
+}
+
+// Mal aus wenigen Werten (Duplikate für distinct), mal über den ganzen int-Bereich (Überläufe bei map und sum)
+int[] randomValues(SplittableRandom random, int size) {
+    int domain = random.nextBoolean() ? 1 + random.nextInt(100) : 0;
+    return IntStream.range(0, size).map(i -> domain == 0 ? random.nextInt() : random.nextInt(domain) - domain / 2).toArray();
+}
+
+String describe(int[] values) {
+    return values.length <= 8 ? "new int[] " + Arrays.toString(values).replace('[', '{').replace(']', '}') : "<" + values.length + " Werte>";
+}
+
+Step randomStep(SplittableRandom random, boolean boxed) {
+    switch (random.nextInt(boxed ? 8 : 9)) {
+        case 0, 1 -> {
+            int modulus = 1 + random.nextInt(7), remainder = random.nextInt(modulus);
+            IntPredicate predicate = v -> v % modulus == remainder;
+            return new Step("filter", ".filter(v -> v % " + modulus + " == " + remainder + ")", s -> s.filter(predicate), s -> s.filter(predicate),
+                            s -> s.filter(predicate::test), s -> s.filter(predicate::test));
+        }
+        case 2, 3 -> {
+            int factor = random.nextInt(11) - 5, summand = random.nextInt(201) - 100;
+            IntUnaryOperator mapper = v -> v * factor + summand;
+            return new Step("map", ".map(v -> v * " + factor + " + " + summand + ")", s -> s.map(mapper), s -> s.map(mapper),
+                            s -> s.map(mapper::applyAsInt), s -> s.map(mapper::applyAsInt));
+        }
+        case 4 -> {
+            long n = randomCount(random);
+            return new Step("skip", ".skip(" + n + ")", s -> s.skip(n), s -> s.skip(n), s -> s.skip(n), s -> s.skip(n));
+        }
+        case 5 -> {
+            long n = randomCount(random);
+            return new Step("limit", ".limit(" + n + ")", s -> s.limit(n), s -> s.limit(n), s -> s.limit(n), s -> s.limit(n));
+        }
+        case 6 -> {
+            return boxed || random.nextBoolean() // SimpleStream kennt kein distinct()
+                ? new Step("sorted", ".sorted()", SimpleIntStream::sorted, IntStream::sorted, SimpleStream::sorted, Stream::sorted)
+                : new Step("distinct", ".distinct()", SimpleIntStream::distinct, IntStream::distinct, s -> s, s -> s);
+        }
+        case 7 -> {
+            return new Step("parallel", ".parallel()", SimpleIntStream::parallel, IntStream::parallel, SimpleStream::parallel, Stream::parallel);
+        }
+        default -> {
+            return new Step("compile", ".compile()", SimpleIntStream::compile, s -> s, s -> s, s -> s);
+        }
+    }
+}
+
+// Meist klein, manchmal 0 oder größer als jede Quelle
+long randomCount(SplittableRandom random) {
+    return switch (random.nextInt(8)) {
+        case 0 -> 0;
+        case 1 -> Long.MAX_VALUE;
+        default -> (long) Math.pow(MAX_SIZE, random.nextDouble());
+    };
+}
+
+void main(String[] args) throws InterruptedException {
+    int pipelines = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+    long seed = args.length > 1 ? Long.parseLong(args[1]) : new Random().nextLong();
+    double maxRatio = args.length > 2 ? Double.parseDouble(args[2]) : Double.POSITIVE_INFINITY;
+    int threads = Runtime.getRuntime().availableProcessors();
+    println("🔎 FUZZING: " + pipelines + " pipelines, seed " + seed + ", " + threads + " threads");
+
+    Queue<String> failures = new ConcurrentLinkedQueue<>();
+    Map<String, Timing> timings = new ConcurrentSkipListMap<>();
+    AtomicInteger next = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    List<Callable<Void>> workers = new ArrayList<>();
+    for (int t = 0; t < threads; t++) workers.add(() -> {
+        for (int i; (i = next.getAndIncrement()) < pipelines; ) {
+            long pipelineSeed = seed + i;
+            Pipeline pipeline = null;
+            try {
+                pipeline = randomPipeline(pipelineSeed);
+                check(pipeline, failures, timings);
+            } catch (Throwable e) { // kein Ergebnis, sondern z.B. StackOverflowError: der Worker endet hier
+                throw new WorkerFailure(pipelineSeed, pipeline == null ? "<Pipeline nicht erzeugt>" : pipeline.code(), e);
+            }
+        }
+        return null;
+    });
+    for (Future<Void> worker : executor.invokeAll(workers)) {
+        try {
+            worker.get();
+        } catch (ExecutionException e) {
+            failures.add(e.getCause() instanceof WorkerFailure failure
+                ? failure.getMessage() + "\n   wirft " + failure.getCause() + replay(failure.seed)
+                : "Worker abgebrochen: " + e.getCause());
+        }
+    }
+    executor.shutdown();
+
+    println(String.format("%-24s %10s %12s", "Operator", "Pipelines", "Simple/JDK"));
+    timings.forEach((operator, timing) -> {
+        boolean tooSlow = timing.pipelines().sum() >= MIN_PIPELINES_FOR_RATIO && timing.ratio() > maxRatio;
+        println(String.format("%-24s %10d %12.2f%s", operator, timing.pipelines().sum(), timing.ratio(), tooSlow ? "  ❌" : ""));
+        if (tooSlow) failures.add(operator + ": Nachbau " + String.format("%.2f", timing.ratio()) + "-mal so langsam (erlaubt: " + maxRatio + ")");
+    });
+
+    failures.forEach(failure -> println("❌ " + failure));
+    if (!failures.isEmpty()) {
+        println("❌ " + failures.size() + " failures");
+        System.exit(1);
+    }
+    println("✅ All " + pipelines + " pipelines agree!");
+}
+
+/** Vergleicht beide Seiten einer Pipeline und misst sie, wenn sie übereinstimmen */
+void check(Pipeline pipeline, Queue<String> failures, Map<String, Timing> timings) {
+    Object expected = pipeline.runJdk(), actual = pipeline.runSimple();
+    if (!Objects.equals(expected, actual)) {
+        failures.add(pipeline.code() + "\n   liefert " + abbreviate(actual) + " statt " + abbreviate(expected) + replay(pipeline.seed()));
+        return;
+    }
+    long simpleNanos = Long.MAX_VALUE, jdkNanos = Long.MAX_VALUE;
+    for (int run = 0; run < TIMED_RUNS; run++) {
+        long start = System.nanoTime();
+        pipeline.runSimple();
+        long middle = System.nanoTime();
+        pipeline.runJdk();
+        long end = System.nanoTime();
+        simpleNanos = Math.min(simpleNanos, middle - start);
+        jdkNanos = Math.min(jdkNanos, end - middle);
+    }
+    for (String operator : pipeline.operators()) {
+        Timing timing = timings.computeIfAbsent(operator, _ -> new Timing());
+        timing.pipelines().increment();
+        timing.simpleNanos().add(simpleNanos);
+        timing.jdkNanos().add(jdkNanos);
+    }
+}
+
+String replay(long pipelineSeed) {
+    return "\n   nachstellen: java --enable-preview StreamFuzz.java 1 " + pipelineSeed;
+}
+
+String abbreviate(Object result) {
+    String text = String.valueOf(result);
+    return text.length() <= 200 ? text : text.substring(0, 200) + "...";
+}
@@ -74,7 +74,7 @@ boolean assertTrue(Object... values) { return assertTrue("assertTrue", values);
 boolean assertFalse(String intent, Object... values) { return assertBool(Boolean.FALSE, intent, values); }
 boolean assertFalse(Object... values) { return assertFalse("assertFalse", values); }
 
-void main() {
+void main() throws IOException, InterruptedException, ExecutionException {
     println("🔎 TESTING: -- Use Java 24 or higher. For Java 24 '--enable-preview' is required.");
 
     assertTrue("Interplay of SimpleStream and SimpleIntStream via count",
@@ -91,6 +91,522 @@ void main() {
         SimpleIntStream.of().average(),   OptionalDouble.empty(),
         IntStream.empty().average(),         OptionalDouble.empty());
 
+    assertTrue("Push pipeline and iterator fallback yield the same results",
+        SimpleIntStream.range(0, 100).filter(i -> i % 3 == 0).map(i -> i * 2).sum(),
+        IntStream.range(0, 100).filter(i -> i % 3 == 0).map(i -> i * 2).sum(),
+        SimpleIntStream.of(IntStream.range(0, 100).iterator()).filter(i -> i % 3 == 0).map(i -> i * 2).sum(),
+        IntStream.range(0, 100).filter(i -> i % 3 == 0).map(i -> i * 2).sum(),
+        SimpleIntStream.iterate(1, i -> i * 2).skip(3).limit(4).reduce(0, (a, b) -> a + b), 8 + 16 + 32 + 64,
+        SimpleIntStream.generate(() -> 7).limit(5).count() == 5,
+        SimpleIntStream.range(5, 10).findFirst(), OptionalInt.of(5),
+        SimpleIntStream.range(5, 5).findFirst(), OptionalInt.empty(),
+        SimpleStream.iterate("a", s -> s + "a").map(String::length).limit(3).reduce(0, Integer::sum), 6,
+        SimpleIntStream.range(0, 5).mapToObj(i -> "x" + i).skip(1).reduce("", String::concat), "x1x2x3x4",
+        SimpleStream.of("A", "BB", "CCC").mapToInt(String::length).map(i -> i * i).sum(), 14);
+
+    assertTrue("Parallel evaluation combines partial results like the sequential one",
+        SimpleIntStream.range(0, 1_000_000).parallel().filter(i -> i % 7 == 0).map(i -> i % 1000).sum(),
+        IntStream.range(0, 1_000_000).filter(i -> i % 7 == 0).map(i -> i % 1000).sum(),
+        SimpleIntStream.range(0, 1_000_000).parallel().count() == 1_000_000,
+        SimpleIntStream.rangeClosed(1, 100_000).parallel().average(), IntStream.rangeClosed(1, 100_000).average(),
+        SimpleIntStream.of(5, 3, 9, 1, 7).parallel().reduce(Math::max), OptionalInt.of(9),
+        SimpleIntStream.range(0, 1000).parallel().skip(10).limit(5).sum(), 10 + 11 + 12 + 13 + 14,
+        SimpleStream.of("a", "b", "c", "d", "e", "f").parallel().reduce("", String::concat), "abcdef",
+        SimpleStream.of(1, 2, 3, 4, 5, 6, 7, 8).parallel().filter(i -> i % 2 == 0).count() == 4,
+        ((Supplier<Integer>) () -> {
+            AtomicInteger visited = new AtomicInteger();
+            SimpleIntStream.range(0, 100_000).parallel().forEach(i -> visited.incrementAndGet());
+            return visited.get();
+        }).get(), 100_000);
+
+    assertTrue("SIZED pipelines count, skip and limit without traversing",
+        SimpleIntStream.range(0, Integer.MAX_VALUE).map(i -> i / 0).count() == Integer.MAX_VALUE,
+        SimpleIntStream.range(0, Integer.MAX_VALUE).skip(2_000_000_000L).limit(3).sum(), 3 * 2_000_000_000 + 3,
+        SimpleIntStream.range(0, Integer.MAX_VALUE).skip(2_000_000_000L).limit(3).count() == 3,
+        SimpleIntStream.of(1, 2, 3, 4, 5).map(i -> i * 10).skip(1).limit(3).parallel().sum(), 20 + 30 + 40,
+        SimpleIntStream.of(1, 2, 3, 4, 5).skip(7).count() == 0,
+        SimpleIntStream.of(1, 2, 3, 4, 5, 6).filter(i -> i % 2 == 0).skip(1).limit(5).count() == 2,
+        SimpleIntStream.of(IntStream.of(1, 2, 3, 4).iterator()).skip(1).limit(2).sum(), 5,
+        SimpleStream.of("a", "b", "c", "d").skip(1).limit(2).reduce("", String::concat), "bc",
+        SimpleStream.of("a", "b", "c", "d").map(String::toUpperCase).skip(3).count() == 1,
+        SimpleStream.of("a", "bb", "c").filter(x -> x.length() == 1).count() == 2,
+        ((BooleanSupplier) () -> {
+            try {
+                SimpleIntStream.range(Integer.MIN_VALUE, Integer.MAX_VALUE).count(); // 2^32 - 1 Elemente
+                return false;
+            } catch (ArithmeticException e) {
+                return true; // statt stillschweigend abgeschnitten
+            }
+        }).getAsBoolean());
+
+    assertTrue("Long and double siblings: overflow-safe sums and one-pass statistics",
+        SimpleIntStream.of(Integer.MAX_VALUE, Integer.MAX_VALUE).asLongStream().sum(), 2L * Integer.MAX_VALUE,
+        SimpleIntStream.of(Integer.MAX_VALUE, 1).summaryStatistics().getSum(), Integer.MAX_VALUE + 1L,
+        SimpleIntStream.of(4, -2, 9).summaryStatistics().toString(), IntStream.of(4, -2, 9).summaryStatistics().toString(),
+        SimpleIntStream.range(0, 100_000).parallel().summaryStatistics().toString(),
+        IntStream.range(0, 100_000).summaryStatistics().toString(),
+        SimpleIntStream.of().summaryStatistics().getCount() == 0,
+        SimpleLongStream.range(0, 3_000_000_000L).skip(2_999_999_998L).sum(), 2_999_999_998L + 2_999_999_999L,
+        SimpleLongStream.rangeClosed(1, 1_000_000).parallel().map(v -> v * v).sum(),
+        LongStream.rangeClosed(1, 1_000_000).map(v -> v * v).sum(),
+        SimpleLongStream.of(3, 1, 2).max(), OptionalLong.of(3),
+        SimpleLongStream.rangeClosed(Long.MAX_VALUE - 2, Long.MAX_VALUE).count() == 3,
+        SimpleLongStream.rangeClosed(Long.MAX_VALUE - 2, Long.MAX_VALUE).map(v -> Long.MAX_VALUE - v).sum(), 3L,
+        SimpleLongStream.rangeClosed(Long.MAX_VALUE - 2, Long.MAX_VALUE).skip(2).max(), OptionalLong.of(Long.MAX_VALUE),
+        SimpleLongStream.rangeClosed(Long.MAX_VALUE - 100_000, Long.MAX_VALUE).parallel().map(v -> Long.MAX_VALUE - v).sum(),
+        LongStream.rangeClosed(0, 100_000).sum(),
+        SimpleLongStream.rangeClosed(Long.MAX_VALUE, Long.MAX_VALUE).findFirst(), OptionalLong.of(Long.MAX_VALUE),
+        SimpleLongStream.of(3, 1, 2).count() == 3,
+        SimpleIntStream.range(0, 10).mapToDouble(i -> i / 10.0).sum(), IntStream.range(0, 10).mapToDouble(i -> i / 10.0).sum(),
+        SimpleDoubleStream.of(1.5, 2.5).average(), OptionalDouble.of(2.0),
+        SimpleDoubleStream.of(1.5, -2.5, 0.5).summaryStatistics().getMin(), -2.5,
+        SimpleStream.of("a", "bb", "ccc").mapToLong(String::length).summaryStatistics().getMax(), 3L,
+        SimpleStream.of("a", "bb", "ccc").mapToDouble(String::length).mapToObj(d -> d * 2).reduce(0.0, Double::sum), 12.0);
+
+    assertTrue("toArray and collectors",
+        Arrays.equals(SimpleIntStream.range(0, 5).map(i -> i * i).toArray(), new int[] {0, 1, 4, 9, 16}),
+        Arrays.equals(SimpleIntStream.range(0, 100_000).filter(i -> i % 3 == 0).toArray(),
+                      IntStream.range(0, 100_000).filter(i -> i % 3 == 0).toArray()),
+        Arrays.equals(SimpleIntStream.range(0, 100_000).parallel().filter(i -> i % 3 == 0).toArray(),
+                      IntStream.range(0, 100_000).filter(i -> i % 3 == 0).toArray()),
+        Arrays.equals(SimpleIntStream.of(IntStream.of(3, 1, 2).iterator()).toArray(), new int[] {3, 1, 2}),
+        SimpleIntStream.empty().toArray().length == 0,
+        SimpleStream.of("x", "y", "z").collect(SimpleCollectors.joining(", ", "[", "]")), "[x, y, z]",
+        SimpleStream.of("x", "y", "z").parallel().collect(SimpleCollectors.joining()), "xyz",
+        SimpleStream.of(1, 2, 3).map(i -> i * 10).toList(), List.of(10, 20, 30),
+        SimpleStream.of("apple", "avocado", "banana", "cherry").collect(SimpleCollectors.counting()), 4L,
+        SimpleStream.of("apple", "avocado", "banana", "cherry").collect(SimpleCollectors.groupingBy(w -> w.charAt(0))),
+        Map.of('a', List.of("apple", "avocado"), 'b', List.of("banana"), 'c', List.of("cherry")),
+        SimpleIntStream.range(0, 10_000).mapToObj(i -> i % 3).parallel()
+            .collect(SimpleCollectors.groupingBy(i -> i, SimpleCollectors.counting())),
+        Map.of(0, 3334L, 1, 3333L, 2, 3333L));
+
+    assertTrue("Gatherers: windows, scan and fold",
+        SimpleStream.of(1, 2, 3, 4, 5).gather(SimpleGatherers.windowFixed(2)).toList(),
+        List.of(List.of(1, 2), List.of(3, 4), List.of(5)),
+        SimpleStream.of(1, 2, 3, 4).gather(SimpleGatherers.windowSliding(3)).toList(),
+        List.of(List.of(1, 2, 3), List.of(2, 3, 4)),
+        SimpleStream.of(1, 2).gather(SimpleGatherers.windowSliding(3)).toList(), List.of(List.of(1, 2)),
+        SimpleStream.of(1, null, 3).gather(SimpleGatherers.windowFixed(2)).toList(), List.of(Arrays.asList(1, null), List.of(3)),
+        SimpleStream.of(1, null, 3).gather(SimpleGatherers.windowSliding(2)).toList(), List.of(Arrays.asList(1, null), Arrays.asList(null, 3)),
+        SimpleStream.of(1, 2, 3).gather(SimpleGatherers.scan(() -> "", (acc, i) -> acc + i)).toList(),
+        List.of("1", "12", "123"),
+        SimpleStream.of(1, 2, 3).gather(SimpleGatherers.fold(() -> 0, Integer::sum)).findFirst(), Optional.of(6),
+        SimpleStream.of(List.of(1, 2, 3, 4, 5).iterator()).gather(SimpleGatherers.windowFixed(2)).count() == 3,
+        SimpleStream.iterate(1, i -> i + 1).gather(SimpleGatherers.windowFixed(3)).limit(2).toList(),
+        List.of(List.of(1, 2, 3), List.of(4, 5, 6)),
+        Arrays.equals(SimpleIntStream.of(5, 1, 4, 2, 8, 3).gather(SimpleGatherers.windowSliding(3, w -> w.max())).toArray(),
+                      new int[] {5, 4, 8, 8}),
+        Arrays.equals(SimpleIntStream.range(1, 8).gather(SimpleGatherers.windowFixed(3, w -> (int) w.sum())).toArray(),
+                      new int[] {6, 15, 7}),
+        Arrays.equals(SimpleIntStream.of(IntStream.range(1, 8).iterator())
+                          .gather(SimpleGatherers.windowFixed(3, w -> (int) w.sum())).toArray(), new int[] {6, 15, 7}),
+        Arrays.equals(SimpleIntStream.range(1, 6).gather(SimpleGatherers.scan(0, Integer::sum)).toArray(),
+                      new int[] {1, 3, 6, 10, 15}),
+        SimpleIntStream.range(1, 6).gather(SimpleGatherers.fold(1, (a, b) -> a * b)).findFirst(), OptionalInt.of(120),
+        SimpleIntStream.empty().gather(SimpleGatherers.fold(7, Integer::sum)).sum(), 7,
+        SimpleIntStream.iterate(0, i -> i + 1).gather(SimpleGatherers.windowSliding(2, w -> (int) w.sum())).limit(3).sum(),
+        1 + 3 + 5);
+
+    int[] random = new Random(42).ints(50_000).toArray();
+    int[] sortedRandom = IntStream.of(random).sorted().toArray();
+    assertTrue("Sorting: radix, parallel merge and top-k",
+        Arrays.equals(SimpleIntStream.of(5, -1, 3, Integer.MIN_VALUE, 0).sorted().toArray(),
+                      new int[] {Integer.MIN_VALUE, -1, 0, 3, 5}),
+        Arrays.equals(SimpleIntStream.of(random).sorted().toArray(), sortedRandom),
+        Arrays.equals(SimpleIntStream.of(random).parallel().sorted().toArray(), sortedRandom),
+        Arrays.equals(SimpleIntStream.of(IntStream.of(random).iterator()).sorted().toArray(), sortedRandom),
+        Arrays.equals(SimpleIntStream.of(random).map(i -> i & 0xFFFF).sorted().toArray(),
+                      IntStream.of(random).map(i -> i & 0xFFFF).sorted().toArray()),
+        Arrays.equals(SimpleIntStream.of(random).sorted().limit(10).toArray(), Arrays.copyOf(sortedRandom, 10)),
+        Arrays.equals(SimpleIntStream.of(IntStream.of(random).iterator()).sorted().limit(10).toArray(),
+                      Arrays.copyOf(sortedRandom, 10)),
+        Arrays.equals(SimpleIntStream.of(random).sorted().limit(40_000).toArray(), Arrays.copyOf(sortedRandom, 40_000)),
+        SimpleIntStream.of(random).sorted().limit(3).count() == 3,
+        SimpleIntStream.iterate(100, i -> i - 1).limit(100).sorted().findFirst(), OptionalInt.of(1),
+        SimpleIntStream.range(0, 10).sorted().sum(), 45,
+        SimpleStream.of("pear", "fig", "apple").sorted().toList(), List.of("apple", "fig", "pear"),
+        SimpleStream.of("pear", "fig", "apple").sorted(Comparator.comparing(String::length)).toList(),
+        List.of("fig", "pear", "apple"),
+        SimpleIntStream.range(0, 20_000).mapToObj(i -> -i).parallel().sorted().limit(2).toList(), List.of(-19_999, -19_998));
+
+    Path spillDirectory = Files.createTempDirectory("streamtest");
+    assertTrue("External sorting: spilled runs merged lazily",
+        Arrays.equals(SimpleIntStream.of(random).sorted(1_000, spillDirectory).toArray(), sortedRandom),
+        Arrays.equals(SimpleIntStream.of(IntStream.of(random).iterator()).sorted(4_096, spillDirectory).toArray(),
+                      sortedRandom),
+        Arrays.equals(SimpleIntStream.of(random).parallel().sorted(30_000).toArray(), sortedRandom),
+        SimpleIntStream.of(random).sorted(1_000, spillDirectory).limit(5).sum(), IntStream.of(sortedRandom).limit(5).sum(),
+        Arrays.equals(SimpleIntStream.of(3, 1, 2).sorted(10).toArray(), new int[] {1, 2, 3}),
+        SimpleIntStream.empty().sorted(1).count() == 0,
+        ((BooleanSupplier) () -> { // Exception nach fünf ausgelagerten Läufen, per Push und per Pull
+            int failures = 0;
+            for (SimpleIntStream failing : List.of(SimpleIntStream.range(0, 10_000), SimpleIntStream.of(IntStream.range(0, 10_000).iterator()))) {
+                try {
+                    failing.map(i -> 100 / (i - 5_000)).sorted(1_000, spillDirectory).sum();
+                } catch (ArithmeticException e) {
+                    failures++;
+                }
+            }
+            return failures == 2;
+        }).getAsBoolean(),
+        spillDirectory.toFile().list().length == 0);
+    Files.delete(spillDirectory);
+
+    SimpleIntStream instrumented = SimpleIntStream.range(0, 1000).instrumented().filter(i -> i % 3 == 0).map(i -> i * 2);
+    SimpleIntStream instrumentedPull = SimpleIntStream.of(IntStream.range(0, 1000).iterator()).instrumented()
+        .filter(i -> i % 3 == 0).map(i -> i * 2);
+    SimpleStream<String> bridged = SimpleIntStream.range(0, 100).limit(50).mapToObj(i -> "x" + i).filter(x -> x.length() > 2);
+    assertTrue("Instrumentation and explain",
+        instrumented.sum(), IntStream.range(0, 1000).filter(i -> i % 3 == 0).map(i -> i * 2).sum(),
+        instrumented.explain().contains("filter"),
+        instrumented.explain().contains("in=1000 out=334 (33.4%)"),
+        instrumented.explain().contains("in=334 out=334 (100.0%)"),
+        instrumentedPull.sum(), instrumented.sum(),
+        instrumentedPull.explain().startsWith("SimpleIntStream (pull)"),
+        instrumentedPull.explain().contains("in=1000 out=334"),
+        SimpleStream.of("a", "bb").instrumented().map(String::length).reduce(0, Integer::sum), 3,
+        bridged.explain().contains("limit(50) per Indexsprung"),
+        bridged.explain().contains("mapToObj"),
+        !bridged.explain().contains("in="),
+        SimpleIntStream.range(0, 10).parallel().filter(i -> i > 4).explain().startsWith("SimpleIntStream (push, parallel)"));
+
+    Path intFile = Files.createTempFile("streamtest", ".ints");
+    Path littleEndianFile = Files.createTempFile("streamtest", ".ints");
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(intFile)))) {
+        for (int v : random) out.writeInt(v);
+    }
+    Files.write(littleEndianFile, ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN).putInt(1).putInt(-2).putInt(3).array());
+    Path textFile = Files.createTempFile("streamtest", ".txt");
+    String longLine = "äöü€".repeat(20_000); // länger als der Puffer, Mehrbyte-Zeichen über Puffergrenzen
+    Files.writeString(textFile, "erste\r\nzweite\n\n" + longLine + "\rletzte");
+    assertTrue("File sources: mapped ints and lines",
+        Arrays.equals(SimpleIntStream.ofMappedFile(intFile).toArray(), random),
+        SimpleIntStream.ofMappedFile(intFile).parallel().sum(), IntStream.of(random).sum(),
+        SimpleIntStream.ofMappedFile(intFile).count() == random.length,
+        Arrays.equals(SimpleIntStream.ofMappedFile(intFile).skip(10).limit(3).toArray(), Arrays.copyOfRange(random, 10, 13)),
+        Arrays.equals(SimpleIntStream.ofMappedFile(intFile).filter(i -> i > 0).limit(5).toArray(),
+                      IntStream.of(random).filter(i -> i > 0).limit(5).toArray()),
+        Arrays.equals(SimpleIntStream.ofMappedFile(littleEndianFile, ByteOrder.LITTLE_ENDIAN).toArray(), new int[] {1, -2, 3}),
+        SimpleStream.lines(textFile).toList(), List.of("erste", "zweite", "", longLine, "letzte"),
+        SimpleStream.lines(textFile).map(String::length).limit(2).toList(), List.of(5, 6),
+        SimpleStream.of(SimpleStream.lines(textFile).toList().iterator()).count() == 5,
+        SimpleStream.lines(textFile).mapToInt(String::length).sum(), 5 + 6 + longLine.length() + 6);
+    Files.delete(intFile);
+    Files.delete(littleEndianFile);
+    Files.delete(textFile);
+
+    try (Arena arena = Arena.ofShared()) {
+        MemorySegment segment = arena.allocate(random.length * 4L, 4);
+        for (int i = 0; i < random.length; i++) segment.setAtIndex(ValueLayout.JAVA_INT, i, random[i]);
+        assertTrue("Off-heap segments as source and target",
+            SimpleIntStream.of(segment).sum(), IntStream.of(random).sum(),
+            SimpleIntStream.of(segment).parallel().sum(), IntStream.of(random).sum(),
+            SimpleIntStream.of(segment).count() == random.length,
+            Arrays.equals(SimpleIntStream.of(segment).skip(5).limit(3).toArray(), Arrays.copyOfRange(random, 5, 8)),
+            Arrays.equals(SimpleIntStream.of(segment).map(i -> i + 1).intoSegment(arena).toArray(ValueLayout.JAVA_INT),
+                          IntStream.of(random).map(i -> i + 1).toArray()),
+            Arrays.equals(SimpleIntStream.of(segment).filter(i -> i % 2 == 0).toSegment().toArray(ValueLayout.JAVA_INT),
+                          IntStream.of(random).filter(i -> i % 2 == 0).toArray()),
+            SimpleIntStream.iterate(0, i -> i + 1).limit(100).filter(i -> i > 90).toSegment().byteSize() == 9 * 4,
+            SimpleIntStream.empty().filter(i -> true).toSegment().byteSize() == 0);
+    }
+
+    AtomicInteger inFlight = new AtomicInteger(), maxInFlight = new AtomicInteger(), started = new AtomicInteger();
+    Function<Integer, Integer> slowDouble = i -> {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        started.incrementAndGet();
+        try { Thread.sleep(20 + (i * 7) % 13); } catch (InterruptedException e) { throw new IllegalStateException(e); }
+        finally { inFlight.decrementAndGet(); }
+        return i * 2;
+    };
+    long asyncStart = System.nanoTime();
+    List<Integer> asyncResult = SimpleIntStream.range(0, 40).mapToObjAsync(slowDouble::apply, 8).toList();
+    long asyncMillis = (System.nanoTime() - asyncStart) / 1_000_000;
+    assertTrue("MapAsync: virtual threads, bounded window, source order",
+        asyncResult, IntStream.range(0, 40).mapToObj(i -> i * 2).toList(),
+        maxInFlight.get() > 1 && maxInFlight.get() <= 8,
+        asyncMillis < 40 * 20 / 2,
+        SimpleStream.of(List.of(3, 1, 2).iterator()).mapAsync(slowDouble, 2).toList(), List.of(6, 2, 4),
+        ((BooleanSupplier) () -> {
+            started.set(0);
+            List<Integer> first = SimpleStream.iterate(0, i -> i + 1).mapAsync(slowDouble, 4).limit(3).toList();
+            return first.equals(List.of(0, 2, 4)) && started.get() <= 3 + 4;
+        }).getAsBoolean(),
+        SimpleStream.iterate(5, i -> i + 1).mapAsync(slowDouble, 4).findFirst(), Optional.of(10),
+        ((BooleanSupplier) () -> {
+            try {
+                SimpleStream.of(1, 2, 0, 4).mapAsync(i -> 10 / i, 2).toList();
+                return false;
+            } catch (ArithmeticException e) {
+                return true;
+            }
+        }).getAsBoolean(),
+        ((BooleanSupplier) () -> { // Exception vor mapAsync: die laufenden Aufrufe werden trotzdem abgebrochen
+            CountDownLatch running = new CountDownLatch(2), interrupted = new CountDownLatch(2);
+            try {
+                SimpleStream.of(1, 2, 0).map(i -> {
+                    if (i == 0) try { running.await(5, TimeUnit.SECONDS); } catch (InterruptedException e) { return i; }
+                    return 10 / i;
+                }).mapAsync(i -> {
+                    running.countDown();
+                    try { Thread.sleep(60_000); } catch (InterruptedException e) { interrupted.countDown(); }
+                    return i;
+                }, 4).toList();
+                return false;
+            } catch (ArithmeticException e) {
+                try { return interrupted.await(5, TimeUnit.SECONDS); } catch (InterruptedException ie) { return false; }
+            }
+        }).getAsBoolean());
+
+    IntExpr x = IntExpr.x();
+    int[] signed = IntStream.range(0, 1003).map(i -> random[i] % 1000).toArray(); // negative Werte, Rest nach den vollen Vektoren
+    assertTrue("Vectorized map/filter over arrays and ranges",
+        SimpleIntStream.of(signed).map(x.times(3).plus(1)).sum(), IntStream.of(signed).map(v -> v * 3 + 1).sum(),
+        SimpleIntStream.of(signed).filter(x.gt(0).and(x.and(1).eq(0))).count(), (int) IntStream.of(signed).filter(v -> v > 0 && (v & 1) == 0).count(),
+        SimpleIntStream.of(signed).map(x.abs().minus(500)).filter(x.lt(0).negate()).min(), IntStream.of(signed).map(v -> Math.abs(v) - 500).filter(v -> v >= 0).min(),
+        SimpleIntStream.of(signed).map(x.xor(0x55).shiftRightUnsigned(3)).max(), IntStream.of(signed).map(v -> (v ^ 0x55) >>> 3).max(),
+        SimpleIntStream.range(-37, 1000).filter(x.ge(x.times(x).minus(200))).map(x.max(-5).shiftLeft(2)).sum(),
+        IntStream.range(-37, 1000).filter(v -> v >= v * v - 200).map(v -> Math.max(v, -5) << 2).sum(),
+        SimpleIntStream.range(0, 100).filter(x.gt(1000)).max(), OptionalInt.empty(),
+        SimpleIntStream.range(0, 0).sum(), 0,
+        SimpleIntStream.of(signed).map(x.times(2)).count(), signed.length,
+        Arrays.equals(SimpleIntStream.of(1, 2, 3, 4).map(x.times(10)).map(v -> v + 1).filter(x.gt(15)).toArray(), new int[] {21, 31, 41}),
+        SimpleIntStream.range(0, 10).map(x.times(2)).filter(x.lt(10)).explain().contains("filter(x < 10)"),
+        SimpleIntStream.range(0, 10_000).parallel().map(x.times(2)).sum(), IntStream.range(0, 10_000).map(v -> v * 2).sum());
+
+    AtomicInteger upstreamCalls = new AtomicInteger();
+    SimpleIntStream cachedInts = SimpleIntStream.range(0, 10_000).map(i -> { upstreamCalls.incrementAndGet(); return i * 3; }).cache();
+    SimpleIntStream cachedPartially = SimpleIntStream.range(0, 100).map(i -> { upstreamCalls.incrementAndGet(); return i; }).cache();
+    SimpleIntStream cachedBounded = SimpleIntStream.range(0, 100).map(i -> { upstreamCalls.incrementAndGet(); return i; }).cache(10);
+    SimpleStream<String> cachedWords = SimpleStream.of(List.of("a", "bb", "ccc").iterator()).map(String::toUpperCase).cache();
+    assertTrue("Cache: replay without recomputing the upstream stages",
+        cachedInts.count(), 10_000,
+        cachedInts.sum(), IntStream.range(0, 10_000).map(i -> i * 3).sum(),
+        cachedInts.filter(i -> i % 2 == 0).max(), OptionalInt.of(9_998 * 3),
+        cachedInts.parallel().map(i -> i / 3).sum(), IntStream.range(0, 10_000).sum(),
+        Arrays.equals(cachedInts.skip(9_998).toArray(), new int[] {9_998 * 3, 9_999 * 3}),
+        upstreamCalls.getAndSet(0), 10_000,
+        ((BooleanSupplier) () -> { // mehrere Threads werten gleichzeitig zum ersten Mal aus: nur einer füllt
+            SimpleIntStream shared = SimpleIntStream.range(0, 100_000).map(i -> { upstreamCalls.incrementAndGet(); return i; }).cache();
+            try (ExecutorService threads = Executors.newFixedThreadPool(4)) {
+                List<Future<Integer>> sums = new ArrayList<>();
+                for (int t = 0; t < 8; t++) sums.add(threads.submit(shared::sum));
+                for (Future<Integer> sum : sums) if (sum.get() != IntStream.range(0, 100_000).sum()) return false;
+            } catch (InterruptedException | ExecutionException e) {
+                return false;
+            }
+            return upstreamCalls.getAndSet(0) == 100_000;
+        }).getAsBoolean(),
+        Arrays.equals(cachedPartially.limit(3).toArray(), new int[] {0, 1, 2}),
+        cachedPartially.sum(), 4950,
+        cachedPartially.sum(), 4950,
+        upstreamCalls.getAndSet(0), 3 + 100,
+        cachedBounded.sum(), 4950,
+        cachedBounded.sum(), 4950,
+        upstreamCalls.getAndSet(0), 2 * 100,
+        cachedWords.toList(), List.of("A", "BB", "CCC"),
+        cachedWords.count(), 3,
+        cachedWords.parallel().map(String::length).reduce(0, Integer::sum), 6,
+        SimpleStream.of(List.of(1, 2).iterator()).cache().toList(), List.of(1, 2),
+        cachedInts.map(i -> i).explain().contains("→ cache"));
+
+    AtomicInteger mapped = new AtomicInteger();
+    assertTrue("Block protocol: map/filter/skip/limit in chunks",
+        SimpleIntStream.of(random).map(i -> i % 1000).filter(i -> i > 0).sum(), IntStream.of(random).map(i -> i % 1000).filter(i -> i > 0).sum(),
+        SimpleIntStream.range(0, 10_000).filter(i -> i % 3000 == 2999).count(), 3,
+        SimpleIntStream.range(0, 10_000).filter(i -> i > 5000).skip(1500).limit(2500).reduce(Integer::max), OptionalInt.of(9000),
+        SimpleIntStream.of(random).skip(3000).limit(40_000).reduce(7, (a, b) -> a * 31 + b), IntStream.of(random).skip(3000).limit(40_000).reduce(7, (a, b) -> a * 31 + b),
+        Arrays.equals(SimpleIntStream.range(0, 5000).map(i -> i * 2).skip(1020).toArray(), IntStream.range(0, 5000).map(i -> i * 2).skip(1020).toArray()),
+        SimpleIntStream.range(0, 1_000_000).map(i -> { mapped.incrementAndGet(); return i; }).limit(1500).sum(), IntStream.range(0, 1500).sum(),
+        mapped.getAndSet(0), 1500,
+        SimpleIntStream.range(0, 1_000_000).map(i -> { mapped.incrementAndGet(); return i; }).filter(i -> i % 10 == 0).limit(150).sum(),
+        IntStream.range(0, 150).map(i -> i * 10).sum(),
+        mapped.get(), 1491, // wie beim Push: kein Element nach dem 150. Treffer
+        SimpleIntStream.of(1, 2, 3).limit(0).sum(), 0,
+        SimpleIntStream.of(1, 2, 3).skip(5).count(), 0,
+        SimpleIntStream.range(0, 100).filter(i -> i < 0).reduce(Integer::min), OptionalInt.empty(),
+        SimpleIntStream.of(IntStream.range(0, 3000).iterator()).map(i -> i + 1).sum(), IntStream.rangeClosed(1, 3000).sum(),
+        SimpleIntStream.range(0, 3000).map(i -> i + 1).mapToObj(Integer::toString).reduce("", (a, b) -> b), "3000");
+
+    int[] userIds = IntStream.of(random).map(i -> i % 5_000).toArray(); // viele Duplikate, auch negative Werte und 0
+    Map<Integer, Integer> expectedCounts = IntStream.of(userIds).boxed().collect(Collectors.groupingBy(i -> i, Collectors.summingInt(i -> 1)));
+    assertTrue("Distinct and counting with primitive hash tables",
+        Arrays.equals(SimpleIntStream.of(userIds).distinct().toArray(), IntStream.of(userIds).distinct().toArray()),
+        Arrays.equals(SimpleIntStream.of(userIds).parallel().distinct().toArray(), IntStream.of(userIds).distinct().toArray()),
+        Arrays.equals(SimpleIntStream.of(3, 1, 3, 0, 1, 0, -2).distinct().toArray(), new int[] {3, 1, 0, -2}),
+        Arrays.equals(SimpleIntStream.of(userIds).sorted().distinct().toArray(), IntStream.of(userIds).sorted().distinct().toArray()),
+        SimpleIntStream.of(IntStream.of(userIds).iterator()).distinct().count(), (int) IntStream.of(userIds).distinct().count(),
+        SimpleIntStream.of(userIds).distinct().limit(3).sum(), IntStream.of(userIds).distinct().limit(3).sum(),
+        SimpleIntStream.range(0, 10).distinct().count(), 10,
+        SimpleIntStream.of(userIds).distinct().explain().contains("[STATEFUL DISTINCT"),
+        SimpleIntStream.of(userIds).countByValue().toMap(), expectedCounts,
+        SimpleIntStream.of(userIds).parallel().countByValue(), SimpleIntStream.of(userIds).countByValue(),
+        SimpleIntStream.range(0, 100).groupingBy(i -> i % 3).toString(), "{0=34, 1=33, 2=33}",
+        SimpleIntStream.of(0, 0, -1).countByValue().get(0), 2,
+        SimpleIntStream.of(0, 0, -1).countByValue().get(7), 0,
+        SimpleIntStream.range(0, 200_000).countByValue().size(), 200_000,
+        new IntCounts().isEmpty(),
+        ((BooleanSupplier) () -> {
+            IntCounts counts = new IntCounts();
+            counts.add(7, Integer.MAX_VALUE);
+            try {
+                counts.add(7);
+                return false;
+            } catch (ArithmeticException e) {
+                return counts.get(7) == Integer.MAX_VALUE && counts.size() == 1;
+            }
+        }).getAsBoolean(),
+        ((BooleanSupplier) () -> {
+            try {
+                new IntCounts(Integer.MAX_VALUE);
+                return false;
+            } catch (IllegalArgumentException e) {
+                return true;
+            }
+        }).getAsBoolean());
+
+    AtomicLong outstanding = new AtomicLong(), maxOutstanding = new AtomicLong(), requested = new AtomicLong();
+    AtomicInteger cancellations = new AtomicInteger();
+    Flow.Publisher<Integer> naturals = subscriber -> subscriber.onSubscribe(new Flow.Subscription() { // liefert synchron, was angefordert ist
+        int next = 0;
+        boolean cancelled = false;
+        @Override public void request(long n) {
+            requested.addAndGet(n);
+            maxOutstanding.accumulateAndGet(outstanding.addAndGet(n), Math::max);
+            for (long i = 0; i < n && !cancelled; i++) { outstanding.decrementAndGet(); subscriber.onNext(next++); }
+        }
+        @Override public void cancel() { cancelled = true; cancellations.incrementAndGet(); }
+    });
+    SubmissionPublisher<String> feed = new SubmissionPublisher<>();
+    Future<List<String>> fromFeed = Executors.newVirtualThreadPerTaskExecutor()
+        .submit(() -> SimpleStream.fromPublisher(feed, 4).map(String::toUpperCase).toList());
+    while (feed.getNumberOfSubscribers() == 0) Thread.onSpinWait();
+    for (int i = 0; i < 100; i++) feed.submit("e" + i);
+    feed.close();
+    List<Integer> published = new ArrayList<>();
+    CompletableFuture<String> publishedEnd = new CompletableFuture<>();
+    Flow.Subscription[] slowSubscription = new Flow.Subscription[1];
+    SimpleStream.of(10, 20, 30, 40, 50).map(i -> i + 1).toPublisher().subscribe(new Flow.Subscriber<Integer>() {
+        @Override public void onSubscribe(Flow.Subscription s) { slowSubscription[0] = s; s.request(2); }
+        @Override public void onNext(Integer item) { synchronized (published) { published.add(item); } }
+        @Override public void onError(Throwable error) { publishedEnd.complete("error " + error.getMessage()); }
+        @Override public void onComplete() { publishedEnd.complete("complete"); }
+    });
+    for (boolean two = false; !two; Thread.onSpinWait()) synchronized (published) { two = published.size() >= 2; }
+    Thread.sleep(50); // mehr als angefordert dürfte inzwischen angekommen sein
+    List<Integer> afterTwo;
+    synchronized (published) { afterTwo = List.copyOf(published); }
+    slowSubscription[0].request(10);
+    assertTrue("Flow bridge: fromPublisher with bounded demand, toPublisher honouring request(n)",
+        SimpleStream.fromPublisher(naturals, 8).limit(1000).count(), 1000,
+        maxOutstanding.get() <= 8,
+        cancellations.get(), 1,
+        requested.get() <= 1000 + 8,
+        fromFeed.get(), IntStream.range(0, 100).mapToObj(i -> "E" + i).toList(),
+        SimpleStream.fromPublisher(naturals, 1).filter(i -> i % 2 == 0).findFirst().isPresent(),
+        afterTwo, List.of(11, 21),
+        publishedEnd.get(), "complete",
+        published, List.of(11, 21, 31, 41, 51),
+        SimpleStream.fromPublisher(SimpleStream.iterate(1, i -> i * 2).limit(20).toPublisher(), 3).reduce(0, Integer::sum), (1 << 20) - 1,
+        SimpleStream.fromPublisher(SimpleStream.iterate(1, i -> i + 1).toPublisher(), 2).limit(5).toList(), List.of(1, 2, 3, 4, 5),
+        ((BooleanSupplier) () -> {
+            try {
+                SimpleStream.fromPublisher(SimpleStream.of(1, 2, 0, 4).map(i -> 10 / i).toPublisher(), 2).toList();
+                return false;
+            } catch (ArithmeticException e) {
+                return true;
+            }
+        }).getAsBoolean());
+
+    AtomicInteger evaluated = new AtomicInteger();
+    SimpleIntStream deep = SimpleIntStream.of(random).map(i -> i * 3).map(i -> i + 1).filter(i -> i % 2 == 0).filter(i -> i % 5 != 0).map(i -> i / 2);
+    assertTrue("Compile: fused loops in hidden classes give the same results",
+        deep.compile().sum(), deep.sum(),
+        deep.compile().parallel().sum(), deep.sum(),
+        deep.compile().count(), deep.count(),
+        SimpleIntStream.range(0, 1000).map(i -> i * 2).skip(10).limit(20).compile().sum(), IntStream.range(0, 1000).map(i -> i * 2).skip(10).limit(20).sum(),
+        Arrays.equals(SimpleIntStream.of(random).filter(i -> i > 0).skip(5).map(i -> i % 100).limit(100).compile().toArray(),
+                      IntStream.of(random).filter(i -> i > 0).skip(5).map(i -> i % 100).limit(100).toArray()),
+        SimpleIntStream.range(0, 1_000_000).filter(i -> i % 2 == 0).map(i -> { evaluated.incrementAndGet(); return i; }).limit(10).compile().sum(), 90,
+        evaluated.get(), 10,
+        SimpleIntStream.range(0, 100).filter(i -> i > 50).compile().findFirst(), OptionalInt.of(51),
+        SimpleIntStream.range(-183, -77).filter(i -> i % 2 == 0).compile().parallel().sum(), IntStream.range(-183, -77).filter(i -> i % 2 == 0).sum(),
+        SimpleIntStream.range(0, 100).skip(200).compile().count(), 0,
+        SimpleIntStream.range(0, 10).limit(0).map(i -> i / 0).compile().sum(), 0,
+        IntStream.rangeClosed(1, 3).map(k -> SimpleIntStream.range(0, 100).map(i -> i * k).compile().sum()).sum(), 6 * 4950, // eine Klasse, drei k
+        SimpleIntStream.of(signed).map(x.times(3)).filter(x.gt(0)).compile().max(), IntStream.of(signed).map(v -> v * 3).filter(v -> v > 0).max(),
+        SimpleIntStream.range(0, 5).map(i -> i + 1).compile().mapToObj(Integer::toString).reduce("", String::concat), "12345",
+        SimpleIntStream.range(0, 5).map(i -> i + 1).compile().explain().contains("→ compile"),
+        ((BooleanSupplier) () -> {
+            SimpleIntStream pulled = SimpleIntStream.of(IntStream.range(0, 3).iterator());
+            return pulled.compile() == pulled;
+        }).getAsBoolean());
+
+    String[] words = {"Fan", "Out", "in", "einem", "Durchlauf"};
+    List<Object> statistics = SimpleIntStream.of(random).fanOut(SimpleIntCollectors.sum(), SimpleIntCollectors.count(),
+        SimpleIntCollectors.min(), SimpleIntCollectors.max(), SimpleIntCollectors.countByValue());
+    List<Object> expectedStatistics = List.of(IntStream.of(random).sum(), random.length,
+        IntStream.of(random).min(), IntStream.of(random).max(), SimpleIntStream.of(random).countByValue());
+    List<Object> asyncStatistics = SimpleIntStream.of(random).fanOutAsync(100, SimpleIntCollectors.sum(), SimpleIntCollectors.count(),
+        SimpleIntCollectors.min(), SimpleIntCollectors.max(), SimpleIntCollectors.countByValue());
+    assertTrue("FanOut: several terminal results from a single pass",
+        statistics, expectedStatistics,
+        asyncStatistics, expectedStatistics,
+        SimpleIntStream.of(random).parallel().fanOut(SimpleIntCollectors.sum(), SimpleIntCollectors.countByValue()), List.of(expectedStatistics.get(0), expectedStatistics.get(4)),
+        SimpleIntStream.of(random).collect(SimpleIntCollectors.summarizing()).getSum(), IntStream.of(random).asLongStream().sum(),
+        SimpleIntStream.of(IntStream.range(0, 10).iterator()).fanOut(SimpleIntCollectors.sum(), SimpleIntCollectors.max()), List.of(45, OptionalInt.of(9)),
+        SimpleIntStream.of(IntStream.range(0, 10_000).iterator()).fanOutAsync(1, SimpleIntCollectors.count(), SimpleIntCollectors.reducing(0, Integer::sum)), List.of(10_000, 49_995_000),
+        SimpleIntStream.empty().fanOut(SimpleIntCollectors.count(), SimpleIntCollectors.min()), List.of(0, OptionalInt.empty()),
+        ((BooleanSupplier) () -> { // 2^31 Elemente über den combiner, wie bei paralleler Auswertung
+            @SuppressWarnings("unchecked")
+            SimpleIntCollector<Object, Integer> counting = (SimpleIntCollector<Object, Integer>) SimpleIntCollectors.count();
+            Object container = counting.supplier().get();
+            counting.accumulator().accept(container, 7);
+            for (int i = 0; i < 31; i++) container = counting.combiner().apply(container, container);
+            try {
+                counting.finisher().apply(container);
+                return false;
+            } catch (ArithmeticException e) {
+                return true;
+            }
+        }).getAsBoolean(),
+        SimpleIntStream.range(1, 101).collect(SimpleIntCollectors.teeing(SimpleIntCollectors.sum(), SimpleIntCollectors.count(), (sum, n) -> sum / n)), 50,
+        SimpleIntStream.range(0, 5).fanOutAsync(8), List.of(),
+        SimpleStream.of(words).fanOut(SimpleCollectors.counting(), SimpleCollectors.joining(","), SimpleCollectors.groupingBy(String::length)),
+            List.of((long) words.length, String.join(",", words), SimpleStream.of(words).collect(SimpleCollectors.groupingBy(String::length))),
+        SimpleStream.of(List.of(words).iterator()).fanOutAsync(2, SimpleCollectors.counting(), SimpleCollectors.toList()), List.of((long) words.length, List.of(words)),
+        SimpleStream.of(words).collect(SimpleCollectors.teeing(SimpleCollectors.counting(), SimpleCollectors.joining(), (n, all) -> all.length() / n)),
+            Stream.of(words).mapToInt(String::length).sum() / (long) words.length,
+        ((BooleanSupplier) () -> {
+            try {
+                SimpleIntStream.range(0, 100_000).fanOutAsync(16, SimpleIntCollectors.count(), SimpleIntCollectors.reducing(0, (a, b) -> a / (b - 5_000)));
+                return false;
+            } catch (ArithmeticException e) {
+                return true; // der fehlschlagende Collector blockiert die Auswertung nicht
+            }
+        }).getAsBoolean(),
+        ((BooleanSupplier) () -> {
+            SimpleIntCollector<int[], Integer> broken = SimpleIntCollector.of(() -> { throw new IllegalStateException("supplier"); },
+                                                                              (a, v) -> {}, (a, b) -> a, a -> 0);
+            try {
+                SimpleIntStream.range(0, 100_000).fanOutAsync(16, SimpleIntCollectors.count(), broken);
+                return false;
+            } catch (IllegalStateException e) {
+                return true; // auch ein werfender supplier blockiert die Auswertung nicht
+            }
+        }).getAsBoolean(),
+        ((BooleanSupplier) () -> {
+            SimpleCollector<String, List<String>, List<String>> broken = SimpleCollector.of(() -> { throw new IllegalStateException("supplier"); },
+                                                                                            List::add, (a, b) -> a);
+            try {
+                SimpleStream.generate(() -> "x").limit(100_000).fanOutAsync(4, SimpleCollectors.counting(), broken);
+                return false;
+            } catch (IllegalStateException e) {
+                return true;
+            }
+        }).getAsBoolean());
+
     println("✅ All tests passed!");
 }
 
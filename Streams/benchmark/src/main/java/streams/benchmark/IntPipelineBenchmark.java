@@ -0,0 +1,163 @@
+package streams.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.*;
+import streams.IntCounts;
+import streams.SimpleIntCollectors;
+import streams.SimpleIntStream;
+
+import static streams.IntExpr.x;
+
+/** SimpleIntStream gegen IntStream: dieselben Pipelines, jeweils als Paar simpleXyz/jdkXyz */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class IntPipelineBenchmark {
+    @Param({"1000", "100000", "10000000"})
+    int size;
+
+    int[] values;
+
+    @Setup public void setup() {
+        values = IntStream.range(0, size).map(i -> (i * 31) % size).toArray();
+    }
+
+    @Benchmark public int simpleFilterMapSum() {
+        return SimpleIntStream.range(0, size).filter(i -> i % 3 == 0).map(i -> i * 2).sum();
+    }
+
+    @Benchmark public int jdkFilterMapSum() {
+        return IntStream.range(0, size).filter(i -> i % 3 == 0).map(i -> i * 2).sum();
+    }
+
+    /** Dieselbe Art Pipeline als IntExpr/IntCond: über Range- und Array-Quellen vektorisiert (Vector API) */
+    @Benchmark public int simpleVectorRangeSum() {
+        return SimpleIntStream.range(0, size).filter(x().and(1).eq(0)).map(x().times(x()).xor(0x5555)).sum();
+    }
+
+    @Benchmark public int simpleScalarRangeSum() {
+        return SimpleIntStream.range(0, size).filter(i -> (i & 1) == 0).map(i -> (i * i) ^ 0x5555).sum();
+    }
+
+    @Benchmark public int jdkRangeSum() {
+        return IntStream.range(0, size).filter(i -> (i & 1) == 0).map(i -> (i * i) ^ 0x5555).sum();
+    }
+
+    @Benchmark public int simpleVectorArrayMax() {
+        return SimpleIntStream.of(values).map(x().times(3).minus(size)).filter(x().lt(size)).max().orElse(0);
+    }
+
+    @Benchmark public int jdkArrayMax() {
+        return IntStream.of(values).map(i -> i * 3 - size).filter(i -> i < size).max().orElse(0);
+    }
+
+    /** distinct/countByValue über values mit size / 16 verschiedenen Werten: int-Hashtabelle gegen HashSet/HashMap */
+    @Benchmark public int simpleDistinctCount() {
+        return SimpleIntStream.of(values).map(i -> i % (size / 16 + 1)).distinct().count();
+    }
+
+    @Benchmark public long jdkDistinctCount() {
+        return IntStream.of(values).map(i -> i % (size / 16 + 1)).distinct().count();
+    }
+
+    @Benchmark public IntCounts simpleCountByValue() {
+        return SimpleIntStream.of(values).map(i -> i % (size / 16 + 1)).countByValue();
+    }
+
+    @Benchmark public Map<Integer, Long> jdkCountByValue() {
+        return IntStream.of(values).map(i -> i % (size / 16 + 1)).boxed().collect(Collectors.groupingBy(i -> i, Collectors.counting()));
+    }
+
+    @Benchmark public OptionalDouble simpleAverage() {
+        return SimpleIntStream.of(values).average();
+    }
+
+    @Benchmark public OptionalDouble jdkAverage() {
+        return IntStream.of(values).average();
+    }
+
+    /** count nach filter: die Größe ist unbekannt, es muss gezählt werden */
+    @Benchmark public int simpleCount() {
+        return SimpleIntStream.of(values).filter(i -> (i & 1) == 0).count();
+    }
+
+    @Benchmark public long jdkCount() {
+        return IntStream.of(values).filter(i -> (i & 1) == 0).count();
+    }
+
+    @Benchmark public int simpleSkipLimit() {
+        return SimpleIntStream.of(values).skip(size / 4).limit(size / 2).sum();
+    }
+
+    @Benchmark public int jdkSkipLimit() {
+        return IntStream.of(values).skip(size / 4).limit(size / 2).sum();
+    }
+
+    /** skip/limit nach filter: kein Indexsprung in die Quelle möglich */
+    @Benchmark public int simpleFilterSkipLimit() {
+        return SimpleIntStream.of(values).filter(i -> i % 3 != 0).skip(size / 4).limit(size / 4).sum();
+    }
+
+    @Benchmark public int jdkFilterSkipLimit() {
+        return IntStream.of(values).filter(i -> i % 3 != 0).skip(size / 4).limit(size / 4).sum();
+    }
+
+    /**
+     * Viele Pipelines teilen sich die Aufrufstellen in map und filter: Nach diesem Setup sind sie megamorph,
+     * wie in einer Anwendung mit vielen verschiedenen Pipelines. Nur für die Benchmarks mit diesem Parameter.
+     */
+    @State(Scope.Benchmark)
+    public static class PollutedCallSites {
+        @Setup public void setup() {
+            IntUnaryOperator[] mappers = { i -> i + 1, i -> i * 3, i -> i ^ 5, i -> i - 7, i -> i >>> 1 };
+            IntPredicate[] predicates = { i -> i % 3 != 0, i -> (i & 1) == 0, i -> i > 10, i -> i < 1_000_000 };
+            for (int round = 0; round < 200; round++)
+                for (IntUnaryOperator mapper : mappers)
+                    for (IntPredicate predicate : predicates) SimpleIntStream.range(0, 10_000).map(mapper).filter(predicate).map(mapper).sum();
+        }
+    }
+
+    /** Tiefe Pipeline über megamorphe Stages gegen compile(): eine erzeugte Schleife je Pipeline-Form */
+    @Benchmark public int simpleDeepChain(PollutedCallSites polluted) {
+        return SimpleIntStream.of(values).map(i -> i * 3).map(i -> i + 1).filter(i -> i % 2 == 0).filter(i -> i % 5 != 0)
+                              .map(i -> i / 2).map(i -> i ^ 0x55).sum();
+    }
+
+    @Benchmark public int simpleDeepChainCompiled(PollutedCallSites polluted) {
+        return SimpleIntStream.of(values).map(i -> i * 3).map(i -> i + 1).filter(i -> i % 2 == 0).filter(i -> i % 5 != 0)
+                              .map(i -> i / 2).map(i -> i ^ 0x55).compile().sum();
+    }
+
+    @Benchmark public int jdkDeepChain() {
+        return IntStream.of(values).map(i -> i * 3).map(i -> i + 1).filter(i -> i % 2 == 0).filter(i -> i % 5 != 0)
+                        .map(i -> i / 2).map(i -> i ^ 0x55).sum();
+    }
+
+    /** Vier Ergebnisse aus einer teuren Pipeline: ein Durchlauf mit fanOut gegen vier Auswertungen */
+    @Benchmark public List<Object> simpleFanOut() {
+        return SimpleIntStream.of(values).map(i -> i * 3).filter(i -> i % 5 != 0)
+                              .fanOut(SimpleIntCollectors.sum(), SimpleIntCollectors.count(), SimpleIntCollectors.min(), SimpleIntCollectors.max());
+    }
+
+    @Benchmark public List<Object> simpleFourPasses() {
+        SimpleIntStream pipeline = SimpleIntStream.of(values).map(i -> i * 3).filter(i -> i % 5 != 0);
+        return List.of(pipeline.sum(), pipeline.count(), pipeline.min(), pipeline.max());
+    }
+
+    @Benchmark public List<Object> jdkFourPasses() {
+        return List.of(IntStream.of(values).map(i -> i * 3).filter(i -> i % 5 != 0).sum(),
+                       IntStream.of(values).map(i -> i * 3).filter(i -> i % 5 != 0).count(),
+                       IntStream.of(values).map(i -> i * 3).filter(i -> i % 5 != 0).min(),
+                       IntStream.of(values).map(i -> i * 3).filter(i -> i % 5 != 0).max());
+    }
+}
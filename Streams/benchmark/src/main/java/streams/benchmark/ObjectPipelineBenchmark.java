@@ -0,0 +1,49 @@
+package streams.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.*;
+import streams.SimpleStream;
+
+/** SimpleStream gegen Stream: map/reduce über geboxte Integer */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ObjectPipelineBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    Integer[] values;
+
+    @Setup public void setup() {
+        values = IntStream.range(0, size).boxed().toArray(Integer[]::new);
+    }
+
+    @Benchmark public long simpleMapReduce() {
+        return SimpleStream.of(values).map(i -> (long) i * i).reduce(0L, Long::sum);
+    }
+
+    @Benchmark public long jdkMapReduce() {
+        return Stream.of(values).map(i -> (long) i * i).reduce(0L, Long::sum);
+    }
+
+    @Benchmark public long simpleFilterCount() {
+        return SimpleStream.of(values).filter(i -> i % 7 == 0).count();
+    }
+
+    @Benchmark public long jdkFilterCount() {
+        return Stream.of(values).filter(i -> i % 7 == 0).count();
+    }
+
+    @Benchmark public long simpleSkipLimit() {
+        return SimpleStream.of(values).skip(size / 4).limit(size / 2).map(Integer::longValue).reduce(0L, Long::sum);
+    }
+
+    @Benchmark public long jdkSkipLimit() {
+        return Stream.of(values).skip(size / 4).limit(size / 2).map(Integer::longValue).reduce(0L, Long::sum);
+    }
+}
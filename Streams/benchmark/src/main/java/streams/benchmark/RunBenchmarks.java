@@ -0,0 +1,17 @@
+package streams.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Startet JMH wie `org.openjdk.jmh.Main`, schaltet aber stets den GC-Profiler (Allokationen pro Operation) zu
+ * und lädt in den geforkten JVMs die Vector API, damit map(IntExpr)/filter(IntCond) vektorisiert laufen.
+ */
+public class RunBenchmarks {
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().parent(new CommandLineOptions(args)).addProfiler(GCProfiler.class)
+                                          .jvmArgsAppend("--add-modules", "jdk.incubator.vector").build()).run();
+    }
+}
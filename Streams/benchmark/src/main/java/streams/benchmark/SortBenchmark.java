@@ -0,0 +1,78 @@
+package streams.benchmark;
+
+import java.util.OptionalInt;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.*;
+import streams.SimpleIntStream;
+
+/**
+ * Bubblesort aus `Sorting/Bubblesort/bubblesortIntStream.java` gegen `IntStream.sorted()` und
+ * `SimpleIntStream.sorted()`. Der Bubblesort braucht bis zu n Durchläufe, daher bleiben die Größen klein.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class SortBenchmark {
+    @Param({"100", "1000", "5000"})
+    int size;
+
+    int[] values;
+
+    @Setup public void setup() {
+        values = new Random(42).ints(size).toArray();
+    }
+
+    @Benchmark public int[] bubblesort() {
+        return bubblesort(IntStream.of(values)).toArray();
+    }
+
+    @Benchmark public int[] jdkSorted() {
+        return IntStream.of(values).sorted().toArray();
+    }
+
+    @Benchmark public int[] simpleSorted() {
+        return SimpleIntStream.of(values).sorted().toArray();
+    }
+
+    @Benchmark public int[] simpleSortedLimit() {
+        return SimpleIntStream.of(values).sorted().limit(10).toArray();
+    }
+
+    @Benchmark public int[] jdkSortedLimit() {
+        return IntStream.of(values).sorted().limit(10).toArray();
+    }
+
+    // ─── Übernommen aus bubblesortIntStream.java (dort eine implizite Klasse, hier nicht importierbar) ───
+
+    record Result(boolean changed, IntStream ints) {}
+
+    static Result bubble(IntStream numbers) {
+        final AtomicBoolean hasChanged = new AtomicBoolean(false);
+        final IntStream.Builder result = IntStream.builder();
+        OptionalInt lastInt = numbers.reduce((x, y) -> {
+            if (x > y) {
+                hasChanged.set(true);
+                result.accept(y);
+                return x;
+            } else {
+                result.accept(x);
+                return y;
+            }
+        });
+        lastInt.ifPresent(i -> result.accept(i));
+        return new Result(hasChanged.get(), result.build());
+    }
+
+    static IntStream bubblesort(IntStream numbers) {
+        Result r = new Result(true, numbers);
+        while (r.changed())
+            r = bubble(r.ints());
+        return r.ints();
+    }
+}